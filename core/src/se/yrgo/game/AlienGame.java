@@ -1,5 +1,8 @@
 package se.yrgo.game;
 
+import java.nio.*;
+import java.util.*;
+
 import com.badlogic.gdx.*;
 
 /**
@@ -9,67 +12,265 @@ import com.badlogic.gdx.*;
  * menus, different game modes, end screens etc.
  */
 public class AlienGame extends Game {
+	public static final int MAX_PLAYERS = 8;
+
 	private GameScreen gameScreen;
 	private GameOverScreen gameOverScreen;
 	private MenuScreen menuScreen;
+	private Renderer renderer;
+	private Telemetry telemetry;
+	private FontService fonts;
+	private ResourceTracker resources;
+	private TextureLoader textureLoader;
+	private QualityGovernor quality = new QualityGovernor();
+	private SaveGame saveGame;
 
-	private int points;
+	private long[] points = new long[MAX_PLAYERS];
+	private int playerCount = 1;
+	private boolean threadedSimulation;
+	private boolean persistent = true;
 	private Preferences prefs;
 	private Difficulty currentDifficulty = Difficulty.EASY;
+	private long highScore; // of the current difficulty, stored by saveHighScore()
 
 	@Override
 	public void create() {
 		// added
 		prefs = Gdx.app.getPreferences("AlienGamePrefs");
+		highScore = prefs.getLong(currentDifficulty.name(), 0);
+		resources = new ResourceTracker();
+		textureLoader = new TextureLoader(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+		resources.setLoader(textureLoader);
+		renderer = new Renderer(resources);
+		fonts = new FontService(resources);
+		telemetry = new Telemetry(persistent ? Gdx.files.local("telemetry").file().toPath() : null);
+		saveGame = new SaveGame(persistent ? Gdx.files.local("savegame.bin").file().toPath() : null);
 
-		gameScreen = new GameScreen(this);
-		gameOverScreen = new GameOverScreen(this);
+		// only the menu is needed for the first frame, the other screens
+		// are created the first time they are shown
 		menuScreen = new MenuScreen(this);
 
-		setScreen(menuScreen);
+		// decode the other screens' textures while the menu is up
+		GameScreen.preload(textureLoader);
+		GameOverScreen.preload(textureLoader);
+
+		if (!persistent || !resumeSavedRun()) {
+			setScreen(menuScreen);
+		}
+
+	}
+
+	/**
+	 * Continue the run that was going on when the game was last closed.
+	 *
+	 * @return false if there was none
+	 */
+	private boolean resumeSavedRun() {
+		long start = System.nanoTime();
+		ByteBuffer state = saveGame.load();
+		if (state == null) {
+			return false;
+		}
+		gameScreen = new GameScreen(this);
+		try {
+			gameScreen.restore(state);
+		} catch (RuntimeException e) {
+			Gdx.app.error("SaveGame", "Could not restore the saved run", e);
+			return false;
+		}
+		setScreen(gameScreen);
+		Gdx.app.log("SaveGame", "Resumed run in " + (System.nanoTime() - start) / 1000 + " us");
+		return true;
+	}
 
+	@Override
+	public void render() {
+		long start = System.nanoTime();
+		textureLoader.update();
+		super.render();
+		quality.frame(Gdx.graphics.getDeltaTime(), (System.nanoTime() - start) / 1_000_000_000f);
 	}
 
 	@Override
 	public void dispose() {
-		gameScreen.dispose();
-		gameOverScreen.dispose();
+		if (gameScreen != null) {
+			gameScreen.dispose();
+		}
+		if (gameOverScreen != null) {
+			gameOverScreen.dispose();
+		}
 		menuScreen.dispose();
+		renderer.dispose();
+		fonts.dispose();
+		textureLoader.dispose();
+		resources.reportLeaks();
+		telemetry.close();
+	}
+
+	/**
+	 * The renderer shared by all screens.
+	 */
+	public Renderer getRenderer() {
+		return renderer;
+	}
+
+	@Override
+	public void setScreen(Screen screen) {
+		super.setScreen(screen);
+		resources.logUsage();
+		// building and showing a screen says nothing about the frame rate
+		quality.skipFrame();
 	}
 
-	public void addPoints(int points) {
-		this.points += points;
+	@Override
+	public void pause() {
+		// the screen stops the simulation when it is paused
+		super.pause();
+		saveHighScore();
+	}
+
+	@Override
+	public void resume() {
+		// the first frame back also covers the time spent minimized
+		quality.skipFrame();
+		super.resume();
+	}
+
+	/**
+	 * Tracks textures, audio and other native resources.
+	 */
+	public ResourceTracker getResources() {
+		return resources;
+	}
 
-		int highScore = prefs.getInteger(currentDifficulty.name(), 0);
-		if (this.points > highScore) {
-			prefs.putInteger(currentDifficulty.name(), this.points);
+	/**
+	 * Decodes textures in the background and uploads them a few per frame.
+	 */
+	public TextureLoader getTextureLoader() {
+		return textureLoader;
+	}
+
+	/**
+	 * Decides how much graphics detail the game can afford.
+	 */
+	public QualityGovernor getQuality() {
+		return quality;
+	}
+
+	/**
+	 * Where an unfinished run is kept between launches.
+	 */
+	public SaveGame getSaveGame() {
+		return saveGame;
+	}
+
+	/**
+	 * The font shared by all screens.
+	 */
+	public FontService getFonts() {
+		return fonts;
+	}
+
+	/**
+	 * Gameplay event log used for balancing.
+	 */
+	public Telemetry getTelemetry() {
+		return telemetry;
+	}
+
+	/**
+	 * Add to a player's score. Called from the simulation thread, so a new
+	 * high score is only kept in memory until {@link #saveHighScore()}.
+	 */
+	public void addPoints(int player, long points) {
+		this.points[player] += points;
+		if (this.points[player] > highScore) {
+			highScore = this.points[player];
+		}
+	}
+
+	/**
+	 * Write the high score to disk if it has been beaten. Only call this
+	 * while the world is not ticking.
+	 */
+	public void saveHighScore() {
+		if (highScore > prefs.getLong(currentDifficulty.name(), 0)) {
+			prefs.putLong(currentDifficulty.name(), highScore);
 			prefs.flush(); // Save to disk
 		}
 	}
 
-	public int getPoints() {
-		return points;
+	/**
+	 * Points of the first player, the only one in a single player game.
+	 */
+	public long getPoints() {
+		return points[0];
+	}
+
+	public long getPoints(int player) {
+		return points[player];
 	}
 
 	public void newGame() {
-		points = 0;
+		Arrays.fill(points, 0);
+		if (gameScreen == null) {
+			gameScreen = new GameScreen(this);
+		}
 		setScreen(gameScreen);
 	}
 
 	// added
-	public int getHighScore() {
-		return prefs.getInteger(currentDifficulty.name(), 0);
+	public long getHighScore() {
+		return highScore;
 	}
 
 	public void gameOver() {
+		if (gameOverScreen == null) {
+			gameOverScreen = new GameOverScreen(this);
+		}
+		// the game screen is hidden from here, so its simulation has stopped
 		setScreen(gameOverScreen);
+		saveHighScore();
 	}
 
 	public void setDifficulty(Difficulty difficulty) {
+		saveHighScore();
 		this.currentDifficulty = difficulty;
+		highScore = prefs.getLong(difficulty.name(), 0);
 	}
 
 	public Difficulty getDifficulty() {
 		return currentDifficulty;
 	}
+
+	/**
+	 * Number of aliens in the next game, between 1 and MAX_PLAYERS.
+	 */
+	public void setPlayerCount(int playerCount) {
+		this.playerCount = playerCount;
+	}
+
+	public int getPlayerCount() {
+		return playerCount;
+	}
+
+	/**
+	 * Run the game world on its own thread at a fixed tick rate instead of
+	 * once per frame. Takes effect from the next game.
+	 */
+	public void setThreadedSimulation(boolean threadedSimulation) {
+		this.threadedSimulation = threadedSimulation;
+	}
+
+	public boolean isThreadedSimulation() {
+		return threadedSimulation;
+	}
+
+	/**
+	 * Whether the game reads and writes the saved run and the telemetry logs.
+	 * Must be set before the game is created.
+	 */
+	public void setPersistent(boolean persistent) {
+		this.persistent = persistent;
+	}
 }
@@ -16,24 +16,25 @@ public class AnimatedSprite {
     private float deltaY;
     private float width, height;
     private float x, y;
+    private float previousX, previousY; // where the last update started, for swept collisions
 
     /**
-     * Create a new animated sprite from an image file.
+     * Create a sprite showing a single region, scaled to the given size.
      */
-    public AnimatedSprite(String filename, int x, int y, int width, int height) {
-        texture = new Texture(filename);
-        texture.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+    public AnimatedSprite(TextureRegion region, int x, int y, int width, int height) {
         position = new Rectangle(x, y, width, height);
-        regions = new TextureRegion[] { new TextureRegion(texture) }; // Entire texture as one region
+        regions = new TextureRegion[] { region };
         animation = new Animation<>(0.15f, regions);
         bounds = null;
+        this.texture = region.getTexture();
 
         this.width = position.width;
         this.height = position.height;
 
         this.x = position.x;
         this.y = position.y;
-
+        this.previousX = position.x;
+        this.previousY = position.y;
     }
 
     /**
@@ -51,6 +52,8 @@ public class AnimatedSprite {
 
         this.x = position.x;
         this.y = position.y;
+        this.previousX = position.x;
+        this.previousY = position.y;
     }
 
     /**
@@ -89,6 +92,8 @@ public class AnimatedSprite {
      * Update the sprite's position based on its velocity.
      */
     public void update(float deltaTime) {
+        previousX = position.x;
+        previousY = position.y;
         position.x += deltaX * deltaTime;
         position.y += deltaY * deltaTime;
 
@@ -107,13 +112,30 @@ public class AnimatedSprite {
     }
 
     /**
-     * Draw the sprite using the current frame of the animation.
+     * Draw the sprite straight into a batch that is already drawing.
      */
     public void draw(SpriteBatch batch, float elapsedTime) {
         TextureRegion region = animation.getKeyFrame(elapsedTime, true);
         batch.draw(region, position.getX(), position.getY(), position.getWidth(), position.getHeight());
     }
 
+    /**
+     * Draw the sprite using the current frame of the animation.
+     */
+    public void draw(Renderer renderer, float elapsedTime, int layer) {
+        TextureRegion region = animation.getKeyFrame(elapsedTime, true);
+        renderer.draw(region, position.getX(), position.getY(), position.getWidth(), position.getHeight(), layer);
+    }
+
+    /**
+     * Draw the current frame of the animation somewhere else than the
+     * sprite's own position, which may be changing on another thread.
+     */
+    public void draw(Renderer renderer, float elapsedTime, int layer, float x, float y) {
+        TextureRegion region = animation.getKeyFrame(elapsedTime, true);
+        renderer.draw(region, x, y, position.getWidth(), position.getHeight(), layer);
+    }
+
     /**
      * Sets bounds to restrict the sprite's movement.
      */
@@ -121,11 +143,31 @@ public class AnimatedSprite {
         this.bounds = new Rectangle(bounds);
     }
 
+    /**
+     * Reuse a sprite made from a single region for something else, without
+     * allocating. The sprite stands still until given a new speed.
+     */
+    public void reset(TextureRegion region, int x, int y, int width, int height) {
+        texture = region.getTexture();
+        regions[0] = region;
+        animation.getKeyFrames()[0] = region; // the animation may hold its own copy of the frames
+        position.set(x, y, width, height);
+        this.width = width;
+        this.height = height;
+        previousX = x;
+        previousY = y;
+        deltaX = 0;
+        deltaY = 0;
+    }
+
     /**
      * Sets the position of the sprite.
      */
     public void setPosition(int x, int y) {
         position.setPosition(x, y);
+        // a jump in position is not movement
+        previousX = x;
+        previousY = y;
     }
 
     public float getX() {
@@ -144,6 +186,10 @@ public class AnimatedSprite {
         return position.height;
     }
 
+    public Texture getTexture() {
+        return texture;
+    }
+
     public float getDeltaX() {
         return deltaX;
     }
@@ -160,15 +206,6 @@ public class AnimatedSprite {
         this.deltaY = deltaY;
     }
 
-    /**
-     * Dispose of the texture.
-     */
-    public void dispose() {
-        if (texture != null) {
-            texture.dispose();
-        }
-    }
-
     /**
      * Check if this sprite overlaps with another.
      */
@@ -190,6 +227,82 @@ public class AnimatedSprite {
         return overlap;
     }
 
+    /**
+     * Check if this sprite hit another at any time during the last update,
+     * not just at the end of it. Both sprites are taken to have moved in a
+     * straight line from where their last update started, so nothing is
+     * missed however long the update was.
+     *
+     * @return how far into the update they first touched, from 0 to 1, or
+     *         -1 if they never did
+     */
+    public float timeOfImpact(AnimatedSprite other) {
+        float margin = 5f; // same hitbox as overlaps
+
+        // Move with the other sprite, so only this one is moving
+        float moveX = (position.x - previousX) - (other.position.x - other.previousX);
+        float moveY = (position.y - previousY) - (other.position.y - other.previousY);
+
+        float ax = previousX + margin;
+        float ay = previousY + margin;
+        float aw = position.width - 2 * margin;
+        float ah = position.height - 2 * margin;
+
+        float bx = other.previousX + margin;
+        float by = other.previousY + margin;
+        float bw = other.position.width - 2 * margin;
+        float bh = other.position.height - 2 * margin;
+
+        // The time span each axis overlaps, the boxes touch when both do
+        float enterX, leaveX;
+        if (moveX == 0) {
+            if (ax >= bx + bw || ax + aw <= bx) {
+                return -1;
+            }
+            enterX = Float.NEGATIVE_INFINITY;
+            leaveX = Float.POSITIVE_INFINITY;
+        } else if (moveX > 0) {
+            enterX = (bx - (ax + aw)) / moveX;
+            leaveX = (bx + bw - ax) / moveX;
+        } else {
+            enterX = (bx + bw - ax) / moveX;
+            leaveX = (bx - (ax + aw)) / moveX;
+        }
+
+        float enterY, leaveY;
+        if (moveY == 0) {
+            if (ay >= by + bh || ay + ah <= by) {
+                return -1;
+            }
+            enterY = Float.NEGATIVE_INFINITY;
+            leaveY = Float.POSITIVE_INFINITY;
+        } else if (moveY > 0) {
+            enterY = (by - (ay + ah)) / moveY;
+            leaveY = (by + bh - ay) / moveY;
+        } else {
+            enterY = (by + bh - ay) / moveY;
+            leaveY = (by - (ay + ah)) / moveY;
+        }
+
+        float enter = Math.max(enterX, enterY);
+        float leave = Math.min(leaveX, leaveY);
+        if (enter >= leave || enter >= 1 || leave <= 0) {
+            return -1;
+        }
+        return Math.max(enter, 0);
+    }
+
+    /**
+     * Where the sprite was a fraction t into the last update.
+     */
+    public float getX(float t) {
+        return previousX + (position.x - previousX) * t;
+    }
+
+    public float getY(float t) {
+        return previousY + (position.y - previousY) * t;
+    }
+
     /**
      * Update the texture and reset the animation.
      *
@@ -197,6 +310,10 @@ public class AnimatedSprite {
      * we need to update the regions and animation when changing the texture.
      */
     public void setTexture(Texture texture) {
+        // called every frame by the game, so avoid rebuilding the animation when nothing changed
+        if (texture == this.texture && regions.length == 1) {
+            return;
+        }
         this.texture = texture;
         // use the entire new texture as a single region.
         regions = new TextureRegion[] { new TextureRegion(texture) };
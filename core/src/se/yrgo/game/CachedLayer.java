@@ -0,0 +1,111 @@
+package se.yrgo.game;
+
+import com.badlogic.gdx.*;
+import com.badlogic.gdx.graphics.*;
+import com.badlogic.gdx.graphics.g2d.*;
+import com.badlogic.gdx.graphics.glutils.*;
+import com.badlogic.gdx.math.*;
+import com.badlogic.gdx.utils.*;
+
+/**
+ * A screen-sized layer that is drawn once into an offscreen frame buffer and
+ * then reused every frame as a single texture. Use it for things that rarely
+ * change, like titles and labels, and call {@link #invalidate()} when they do.
+ * The layer also redraws itself when the window size changes.
+ */
+public class CachedLayer implements Disposable {
+    /**
+     * Draws the content of the layer. The batch is already started.
+     */
+    public interface Painter {
+        void paint(SpriteBatch batch);
+    }
+
+    private final ResourceTracker resources;
+    private final String owner;
+    private final Painter painter;
+    private final Matrix4 projection = new Matrix4();
+    private final Matrix4 previousProjection = new Matrix4();
+    private FrameBuffer frameBuffer;
+    private TextureRegion region;
+    private boolean dirty = true;
+
+    public CachedLayer(ResourceTracker resources, String owner, Painter painter) {
+        this.resources = resources;
+        this.owner = owner;
+        this.painter = painter;
+    }
+
+    /**
+     * Mark the layer as changed, it is painted again on the next refresh.
+     */
+    public void invalidate() {
+        dirty = true;
+    }
+
+    /**
+     * Paint the layer again if it has changed. Must be called while the
+     * batch is not drawing, before the frame starts.
+     */
+    public void refresh(SpriteBatch batch) {
+        int width = Gdx.graphics.getWidth();
+        int height = Gdx.graphics.getHeight();
+        if (width == 0 || height == 0) {
+            return; // minimized
+        }
+
+        if (frameBuffer == null || frameBuffer.getWidth() != width || frameBuffer.getHeight() != height) {
+            if (frameBuffer != null) {
+                resources.release(owner, frameBuffer);
+            }
+            frameBuffer = resources.track(owner, "cached layer",
+                    new FrameBuffer(Pixmap.Format.RGBA8888, width, height, false), (long) width * height * 4);
+            region = new TextureRegion(frameBuffer.getColorBufferTexture());
+            region.flip(false, true); // frame buffers are stored upside down
+            dirty = true;
+        }
+        if (!dirty) {
+            return;
+        }
+
+        previousProjection.set(batch.getProjectionMatrix());
+        projection.setToOrtho2D(0, 0, width, height);
+        batch.setProjectionMatrix(projection);
+
+        frameBuffer.begin();
+        Gdx.gl.glClearColor(0, 0, 0, 0);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+
+        // keep the alpha right in the buffer, the result is premultiplied
+        batch.setBlendFunctionSeparate(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA, GL20.GL_ONE,
+                GL20.GL_ONE_MINUS_SRC_ALPHA);
+        batch.begin();
+        painter.paint(batch);
+        batch.end();
+        batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+
+        frameBuffer.end();
+        batch.setProjectionMatrix(previousProjection);
+        dirty = false;
+    }
+
+    /**
+     * Draw the cached layer over the whole screen. The batch must be drawing.
+     */
+    public void draw(SpriteBatch batch) {
+        if (region == null) {
+            return;
+        }
+        batch.setBlendFunction(GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        batch.draw(region, 0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+        batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+    }
+
+    @Override
+    public void dispose() {
+        if (frameBuffer != null) {
+            resources.release(owner, frameBuffer);
+            frameBuffer = null;
+        }
+    }
+}
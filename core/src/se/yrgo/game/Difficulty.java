@@ -1,5 +1,5 @@
 package se.yrgo.game;
 
 public enum Difficulty {
-    EASY, MEDIUM, HARD
+    EASY, MEDIUM, HARD, ENDLESS
 }
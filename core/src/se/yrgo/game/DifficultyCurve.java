@@ -0,0 +1,198 @@
+package se.yrgo.game;
+
+import java.util.*;
+
+import com.badlogic.gdx.files.*;
+import com.badlogic.gdx.utils.*;
+
+/**
+ * How hard a run gets over time, read from {@code difficulty.json}.
+ *
+ * A curve is a list of stages, each starting at a time into the run. Planet
+ * speed and the time between waves slide smoothly from one stage to the
+ * next, while the planet limit and the mix of formations change when a
+ * stage starts. A formation is a group of planets spawned together, given
+ * as x, y offsets in pixels from where the wave is placed. Curves never
+ * change once loaded, so the wave generator can read them from its own
+ * thread.
+ */
+public class DifficultyCurve {
+    private static class Stage {
+        float time;
+        float speed;
+        float interval;
+        int maxPlanets;
+        int[] formations; // indexes into the formation list
+        float[] weights; // running total, the last is 1
+    }
+
+    private final Stage[] stages;
+    private final float[][][] formations; // formation, planet, x and y offset
+
+    private DifficultyCurve(Stage[] stages, float[][][] formations) {
+        this.stages = stages;
+        this.formations = formations;
+    }
+
+    /**
+     * Load the curve of every difficulty.
+     *
+     * @throws GdxRuntimeException if a difficulty is missing, or a formation
+     *                             or stage does not make sense
+     */
+    public static Map<Difficulty, DifficultyCurve> load(FileHandle file) {
+        JsonValue root = new JsonReader().parse(file);
+        JsonValue formationList = require(root, "formations", file);
+        JsonValue curveList = require(root, "curves", file);
+
+        List<String> names = new ArrayList<>();
+        List<float[][]> shapes = new ArrayList<>();
+        for (JsonValue formation = formationList.child; formation != null; formation = formation.next) {
+            float[][] offsets = new float[formation.size][];
+            if (offsets.length == 0 || offsets.length > WaveGenerator.MAX_WAVE_SIZE) {
+                throw new GdxRuntimeException("Formation " + formation.name + " must have 1 to "
+                        + WaveGenerator.MAX_WAVE_SIZE + " planets");
+            }
+            int i = 0;
+            for (JsonValue offset = formation.child; offset != null; offset = offset.next) {
+                if (!offset.isArray() || offset.size != 2) {
+                    throw new GdxRuntimeException("Formation " + formation.name + " has a planet without x and y");
+                }
+                offsets[i++] = new float[] { offset.getFloat(0), offset.getFloat(1) };
+            }
+            names.add(formation.name);
+            shapes.add(offsets);
+        }
+        float[][][] formations = shapes.toArray(new float[0][][]);
+
+        Map<Difficulty, DifficultyCurve> curves = new EnumMap<>(Difficulty.class);
+        for (Difficulty difficulty : Difficulty.values()) {
+            JsonValue curve = curveList.get(difficulty.name());
+            if (curve == null || curve.size == 0) {
+                throw new GdxRuntimeException("No difficulty curve for " + difficulty + " in " + file);
+            }
+            Stage[] stages = new Stage[curve.size];
+            int s = 0;
+            for (JsonValue value = curve.child; value != null; value = value.next) {
+                stages[s] = readStage(value, names, shapes);
+                if (s > 0 && stages[s].time <= stages[s - 1].time) {
+                    throw new GdxRuntimeException("Stages of " + difficulty + " must start at increasing times");
+                }
+                s++;
+            }
+            curves.put(difficulty, new DifficultyCurve(stages, formations));
+        }
+        return curves;
+    }
+
+    private static JsonValue require(JsonValue root, String key, FileHandle file) {
+        JsonValue value = root.get(key);
+        if (value == null || !value.isObject()) {
+            throw new GdxRuntimeException("No \"" + key + "\" object in " + file);
+        }
+        return value;
+    }
+
+    private static Stage readStage(JsonValue value, List<String> names, List<float[][]> shapes) {
+        Stage stage = new Stage();
+        stage.time = value.getFloat("time");
+        stage.speed = value.getFloat("speed");
+        stage.interval = value.getFloat("interval");
+        stage.maxPlanets = value.getInt("maxPlanets");
+        if (stage.time < 0 || stage.speed <= 0 || stage.interval <= 0 || stage.maxPlanets < 1) {
+            throw new GdxRuntimeException("Stage at " + stage.time
+                    + " needs a positive speed, interval and planet limit");
+        }
+        if (stage.maxPlanets > WorldSnapshot.MAX_PLANETS) {
+            throw new GdxRuntimeException("Stage at " + stage.time + " allows more than "
+                    + WorldSnapshot.MAX_PLANETS + " planets");
+        }
+
+        JsonValue mix = value.get("formations");
+        if (mix == null || mix.size == 0) {
+            throw new GdxRuntimeException("Stage at " + stage.time + " has no formations");
+        }
+        stage.formations = new int[mix.size];
+        stage.weights = new float[mix.size];
+        float total = 0;
+        int i = 0;
+        for (JsonValue formation = mix.child; formation != null; formation = formation.next) {
+            stage.formations[i] = names.indexOf(formation.name);
+            if (stage.formations[i] < 0) {
+                throw new GdxRuntimeException("Unknown formation " + formation.name);
+            }
+            if (shapes.get(stage.formations[i]).length > stage.maxPlanets) {
+                // the wave would never fit on screen
+                throw new GdxRuntimeException("Formation " + formation.name + " has more planets than the limit of "
+                        + stage.maxPlanets + " in the stage at " + stage.time);
+            }
+            if (formation.asFloat() < 0) {
+                throw new GdxRuntimeException("Formation " + formation.name + " has a negative weight");
+            }
+            total += formation.asFloat();
+            stage.weights[i++] = total;
+        }
+        if (total <= 0) {
+            throw new GdxRuntimeException("Formation weights of the stage at " + stage.time + " add up to zero");
+        }
+        for (i = 0; i < stage.weights.length; i++) {
+            stage.weights[i] /= total;
+        }
+        return stage;
+    }
+
+    private int stageAt(float time) {
+        int stage = 0;
+        while (stage + 1 < stages.length && stages[stage + 1].time <= time) {
+            stage++;
+        }
+        return stage;
+    }
+
+    // how far the run has come towards the next stage, from 0 to 1
+    private float progress(int stage, float time) {
+        if (stage + 1 == stages.length) {
+            return 0;
+        }
+        float start = stages[stage].time;
+        return Math.min(1f, (time - start) / (stages[stage + 1].time - start));
+    }
+
+    public float getSpeed(float time) {
+        int stage = stageAt(time);
+        Stage next = stages[Math.min(stage + 1, stages.length - 1)];
+        return stages[stage].speed + (next.speed - stages[stage].speed) * progress(stage, time);
+    }
+
+    /**
+     * Seconds from one wave to the next.
+     */
+    public float getInterval(float time) {
+        int stage = stageAt(time);
+        Stage next = stages[Math.min(stage + 1, stages.length - 1)];
+        return stages[stage].interval + (next.interval - stages[stage].interval) * progress(stage, time);
+    }
+
+    /**
+     * Most planets on screen at once. A wave waits until all of its planets
+     * fit under the limit.
+     */
+    public int getMaxPlanets(float time) {
+        return stages[stageAt(time)].maxPlanets;
+    }
+
+    /**
+     * Pick a formation by weight.
+     *
+     * @param roll a random number from 0 to 1
+     */
+    public float[][] pickFormation(float time, float roll) {
+        Stage stage = stages[stageAt(time)];
+        for (int i = 0; i < stage.weights.length - 1; i++) {
+            if (roll < stage.weights[i]) {
+                return formations[stage.formations[i]];
+            }
+        }
+        return formations[stage.formations[stage.formations.length - 1]];
+    }
+}
@@ -0,0 +1,113 @@
+package se.yrgo.game;
+
+import com.badlogic.gdx.*;
+import com.badlogic.gdx.graphics.*;
+import com.badlogic.gdx.graphics.g2d.*;
+import com.badlogic.gdx.graphics.glutils.*;
+import com.badlogic.gdx.utils.*;
+
+/**
+ * The one font used by all screens.
+ *
+ * The font is a signed distance field, so a single texture stays sharp at
+ * any size. Sizes are given in pixels of line height. Text is drawn with the
+ * shared sprite batch between {@link #begin(SpriteBatch)} and
+ * {@link #end(SpriteBatch)}; switching the shader costs one flush, after
+ * which all text on screen goes out in a single draw call.
+ */
+public class FontService implements Disposable {
+    public static final float SMALL = 22f;
+    public static final float MEDIUM = 30f;
+    public static final float LARGE = 38f;
+    public static final float TITLE = 45f;
+
+    private static final String VERTEX_SHADER = ""
+            + "attribute vec4 " + ShaderProgram.POSITION_ATTRIBUTE + ";\n"
+            + "attribute vec4 " + ShaderProgram.COLOR_ATTRIBUTE + ";\n"
+            + "attribute vec2 " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n"
+            + "uniform mat4 u_projTrans;\n"
+            + "varying vec4 v_color;\n"
+            + "varying vec2 v_texCoords;\n"
+            + "void main() {\n"
+            + "    v_color = " + ShaderProgram.COLOR_ATTRIBUTE + ";\n"
+            + "    v_color.a = v_color.a * (255.0 / 254.0);\n"
+            + "    v_texCoords = " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n"
+            + "    gl_Position = u_projTrans * " + ShaderProgram.POSITION_ATTRIBUTE + ";\n"
+            + "}\n";
+
+    // The edge is softened by how much the distance changes per screen
+    // pixel, so no uniform has to be updated when the size changes.
+    private static final String FRAGMENT_SHADER = ""
+            + "#ifdef GL_ES\n"
+            + "#extension GL_OES_standard_derivatives : enable\n"
+            + "precision mediump float;\n"
+            + "#endif\n"
+            + "uniform sampler2D u_texture;\n"
+            + "varying vec4 v_color;\n"
+            + "varying vec2 v_texCoords;\n"
+            + "void main() {\n"
+            + "    float distance = texture2D(u_texture, v_texCoords).a;\n"
+            + "    float smoothing = 0.7 * fwidth(distance);\n"
+            + "    float alpha = smoothstep(0.5 - smoothing, 0.5 + smoothing, distance);\n"
+            + "    gl_FragColor = vec4(v_color.rgb, v_color.a * alpha);\n"
+            + "}\n";
+
+    private static final String OWNER = "FontService";
+
+    private final ResourceTracker resources;
+    private final BitmapFont font;
+    private final ShaderProgram shader;
+    private final float baseLineHeight;
+
+    public FontService(ResourceTracker resources) {
+        this.resources = resources;
+        font = new BitmapFont(Gdx.files.internal("fonts/alien-sdf.fnt"));
+        resources.track(OWNER, "fonts/alien-sdf.fnt", font,
+                ResourceTracker.textureBytes(font.getRegion().getTexture(), false));
+        font.getRegion().getTexture().setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+        font.setUseIntegerPositions(false);
+        font.setColor(Color.WHITE);
+        baseLineHeight = font.getLineHeight();
+
+        shader = new ShaderProgram(VERTEX_SHADER, FRAGMENT_SHADER);
+        if (!shader.isCompiled()) {
+            throw new GdxRuntimeException("Could not compile font shader: " + shader.getLog());
+        }
+        resources.track(OWNER, "distance field shader", shader, 0);
+    }
+
+    /**
+     * Switch the batch over to text drawing. The batch must already be started.
+     */
+    public void begin(SpriteBatch batch) {
+        batch.setShader(shader);
+    }
+
+    /**
+     * Switch the batch back to normal sprite drawing.
+     */
+    public void end(SpriteBatch batch) {
+        batch.setShader(null);
+    }
+
+    /**
+     * Draw text with its top left corner at x, y.
+     */
+    public void draw(SpriteBatch batch, CharSequence text, float size, float x, float y) {
+        font.getData().setScale(size / baseLineHeight);
+        font.draw(batch, text, x, y);
+    }
+
+    /**
+     * Draw text aligned within a box of the given width.
+     */
+    public void draw(SpriteBatch batch, CharSequence text, float size, float x, float y, float width, int align) {
+        font.getData().setScale(size / baseLineHeight);
+        font.draw(batch, text, x, y, width, align, false);
+    }
+
+    @Override
+    public void dispose() {
+        resources.releaseAll(OWNER);
+    }
+}
@@ -11,14 +11,15 @@ import com.badlogic.gdx.utils.*;
 
 public class GameOverScreen extends ScreenAdapter implements InputProcessor {
     private AlienGame alienGame;
-    private SpriteBatch batch;
+    private Renderer renderer;
     private AnimatedSprite alienHead;
-    private BitmapFont bigFont;
-    private BitmapFont smallFont;
+    private FontService fonts;
     private float elapsedTime = 0;
-    private Rectangle easyBounds;
-    private Rectangle mediumBounds;
-    private Rectangle hardBounds;
+    private Rectangle easyBounds = new Rectangle();
+    private Rectangle mediumBounds = new Rectangle();
+    private Rectangle hardBounds = new Rectangle();
+    private Rectangle endlessBounds = new Rectangle();
+    private CachedLayer textLayer; // everything but the stars
 
     // star decoration
     private Texture starTexture;
@@ -26,29 +27,36 @@ public class GameOverScreen extends ScreenAdapter implements InputProcessor {
     private static final int STAR_COUNT = 40;
     private static final int STAR_WIDTH = 21;
     private static final int STAR_HEIGHT = 32;
+    private static final String OWNER = "GameOverScreen";
+    private static final String HEAD_FILE = "alienJumping.png";
+    private static final String STARS_FILE = "extrasmallstars.png";
 
     public GameOverScreen(AlienGame alienGame) {
         int width = Gdx.graphics.getWidth();
         this.alienGame = alienGame;
-        this.batch = new SpriteBatch();
-
-        // initialize fonts and set them to white
-        this.bigFont = new BitmapFont();
-        this.smallFont = new BitmapFont();
-        this.bigFont.setColor(Color.WHITE);
-        this.smallFont.setColor(Color.WHITE);
-        this.bigFont.getRegion().getTexture().setFilter(TextureFilter.Linear, TextureFilter.Linear);
-        this.bigFont.getData().setScale(2.5f);
-        this.smallFont.getRegion().getTexture().setFilter(TextureFilter.Linear, TextureFilter.Linear);
-        this.smallFont.getData().setScale(1.5f);
+        this.renderer = alienGame.getRenderer();
+
+        this.fonts = alienGame.getFonts();
 
         // center the alien head image near the bottom
-        this.alienHead = new AnimatedSprite("alienJumping.png", (width / 2) - (106 / 2), 250, 106, 80);
+        Texture headTexture = alienGame.getResources().loadTexture(OWNER, HEAD_FILE, true);
+        headTexture.setFilter(TextureFilter.MipMapLinearLinear, TextureFilter.Linear);
+        this.alienHead = new AnimatedSprite(new TextureRegion(headTexture), (width / 2) - (106 / 2), 250, 106, 80);
 
         // load the star texture and initialize the edge stars
-        this.starTexture = new Texture(Gdx.files.internal("extrasmallstars.png"));
+        this.starTexture = alienGame.getResources().loadTexture(OWNER, STARS_FILE, false);
         edgeStars = new ArrayList<>();
         initializeEdgeStars();
+
+        this.textLayer = new CachedLayer(alienGame.getResources(), OWNER, this::paintText);
+    }
+
+    /**
+     * Start decoding the textures of the screen in the background.
+     */
+    public static void preload(TextureLoader loader) {
+        loader.queue(HEAD_FILE, true);
+        loader.queue(STARS_FILE, false);
     }
 
     /**
@@ -89,11 +97,14 @@ public class GameOverScreen extends ScreenAdapter implements InputProcessor {
 
     @Override
     public void dispose() {
-        bigFont.dispose();
-        smallFont.dispose();
-        alienHead.dispose();
-        starTexture.dispose();
-        batch.dispose();
+        // the sprites only borrow their textures, which are released here
+        textLayer.dispose();
+        alienGame.getResources().releaseAll(OWNER);
+    }
+
+    @Override
+    public void resize(int width, int height) {
+        textLayer.invalidate();
     }
 
     @Override
@@ -108,42 +119,17 @@ public class GameOverScreen extends ScreenAdapter implements InputProcessor {
 
         ScreenUtils.clear(0.043f, 0.078f, 0.22f, 1.0f);
 
-        int screenWidth = Gdx.graphics.getWidth();
-        int screenHeight = Gdx.graphics.getHeight();
-
-        batch.begin();
+        textLayer.refresh(renderer.getBatch());
+        renderer.begin();
 
-        // render the decorative stars
+        // render the decorative stars, the only thing that moves
         for (AnimatedSprite star : edgeStars) {
-            star.draw(batch, elapsedTime);
+            star.draw(renderer, elapsedTime, Renderer.LAYER_BACKGROUND);
         }
 
-        // draw "Game Over!" text
-        float gameOverY = screenHeight / 2f - 50;
-        bigFont.draw(batch, "Game Over!", 0, gameOverY, screenWidth, Align.center, false);
-
-        // draw the score below the Game Over text
-        String points = String.format("You scored: %d", alienGame.getPoints());
-        smallFont.draw(batch, points, 0, gameOverY - 50, screenWidth, Align.center, false);
-
-        // draw difficulty prompt
-        float difficultyY = gameOverY + 160;
-        smallFont.draw(batch, "Change difficulty?", 0, difficultyY, screenWidth, Align.center, false);
-
-        // Draw difficulty option labels centered below the prompt
-        float optionY = difficultyY - 40;
-        smallFont.draw(batch, "Easy", screenWidth / 2f - 200, optionY, 100, Align.center, false);
-        smallFont.draw(batch, "Medium", screenWidth / 2f - 50, optionY, 100, Align.center, false);
-        smallFont.draw(batch, "Hard", screenWidth / 2f + 100, optionY, 100, Align.center, false);
-
-        alienHead.draw(batch, elapsedTime);
-
-        batch.end();
-
-        // define clickable areas for difficulty options
-        this.easyBounds = new Rectangle(screenWidth / 2f - 200, optionY - 20, 100, 40);
-        this.mediumBounds = new Rectangle(screenWidth / 2f - 50, optionY - 20, 100, 40);
-        this.hardBounds = new Rectangle(screenWidth / 2f + 100, optionY - 20, 100, 40);
+        SpriteBatch batch = renderer.flush();
+        textLayer.draw(batch);
+        renderer.end();
 
         if (Gdx.input.justTouched()) {
             int x = Gdx.input.getX();
@@ -158,14 +144,68 @@ public class GameOverScreen extends ScreenAdapter implements InputProcessor {
             } else if (hardBounds.contains(x, y)) {
                 alienGame.setDifficulty(Difficulty.HARD);
                 alienGame.newGame();
+            } else if (endlessBounds.contains(x, y)) {
+                alienGame.setDifficulty(Difficulty.ENDLESS);
+                alienGame.newGame();
+            }
+        }
+
+    }
+
+    /**
+     * Paint the texts and the alien head, they only change between games.
+     */
+    private void paintText(SpriteBatch batch) {
+        int screenWidth = Gdx.graphics.getWidth();
+        int screenHeight = Gdx.graphics.getHeight();
+
+        alienHead.draw(batch, 0);
+
+        fonts.begin(batch);
+
+        // draw "Game Over!" text
+        float gameOverY = screenHeight / 2f - 50;
+        fonts.draw(batch, "Game Over!", FontService.LARGE, 0, gameOverY, screenWidth, Align.center);
+
+        // draw the score below the Game Over text, four players per line in multiplayer
+        if (alienGame.getPlayerCount() == 1) {
+            String points = String.format("You scored: %d", alienGame.getPoints());
+            fonts.draw(batch, points, FontService.SMALL, 0, gameOverY - 50, screenWidth, Align.center);
+        } else {
+            for (int first = 0; first < alienGame.getPlayerCount(); first += 4) {
+                StringBuilder points = new StringBuilder();
+                for (int i = first; i < Math.min(first + 4, alienGame.getPlayerCount()); i++) {
+                    points.append("P").append(i + 1).append(": ").append(alienGame.getPoints(i)).append("  ");
+                }
+                fonts.draw(batch, points.toString().trim(), FontService.SMALL, 0, gameOverY - 50 - 30 * (first / 4),
+                        screenWidth, Align.center);
             }
         }
 
+        // draw difficulty prompt
+        float difficultyY = gameOverY + 160;
+        fonts.draw(batch, "Change difficulty?", FontService.SMALL, 0, difficultyY, screenWidth, Align.center);
+
+        // Draw difficulty option labels centered below the prompt
+        float optionY = difficultyY - 40;
+        fonts.draw(batch, "Easy", FontService.SMALL, screenWidth / 2f - 275, optionY, 100, Align.center);
+        fonts.draw(batch, "Medium", FontService.SMALL, screenWidth / 2f - 125, optionY, 100, Align.center);
+        fonts.draw(batch, "Hard", FontService.SMALL, screenWidth / 2f + 25, optionY, 100, Align.center);
+        fonts.draw(batch, "Endless", FontService.SMALL, screenWidth / 2f + 175, optionY, 100, Align.center);
+
+        fonts.end(batch);
+
+        // define clickable areas for difficulty options
+        easyBounds.set(screenWidth / 2f - 275, optionY - 20, 100, 40);
+        mediumBounds.set(screenWidth / 2f - 125, optionY - 20, 100, 40);
+        hardBounds.set(screenWidth / 2f + 25, optionY - 20, 100, 40);
+        endlessBounds.set(screenWidth / 2f + 175, optionY - 20, 100, 40);
     }
 
     @Override
     public void show() {
         elapsedTime = 0;
+        textLayer.invalidate(); // new score
         Gdx.input.setInputProcessor(this);
     }
 
@@ -1,78 +1,182 @@
 package se.yrgo.game;
 
+import java.nio.*;
 import java.util.*;
-import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
 
 import com.badlogic.gdx.*;
 import com.badlogic.gdx.Input.*;
 import com.badlogic.gdx.audio.*;
+import com.badlogic.gdx.controllers.*;
 import com.badlogic.gdx.graphics.*;
 import com.badlogic.gdx.graphics.g2d.*;
+import com.badlogic.gdx.graphics.glutils.*;
 import com.badlogic.gdx.math.*;
-
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * The game itself. The world is advanced in ticks by {@link #tick}, either
+ * once per frame on the render thread or, in threaded mode, at a fixed rate
+ * on a {@link SimulationThread}. Either way the screen only draws from
+ * {@link WorldSnapshot}s, and input never touches the world directly but
+ * queues jumps for the next tick.
+ */
 public class GameScreen extends ScreenAdapter implements InputProcessor {
     private static final int screenWidth = Gdx.graphics.getWidth();
     private static final int screenHeight = Gdx.graphics.getHeight();
     private static final int ALIEN_WIDTH = 130;
     private static final int ALIEN_HEIGHT = 100;
+    private static final String OWNER = "GameScreen";
+    private static final String STARS_FILE = "extrasmallstars.png";
+    private static final String ALIEN_FALLING_FILE = "alienFalling.png";
+    private static final String ALIEN_JUMPING_FILE = "alienJumping.png";
+    private static final String ALIEN_NEUTRAL_FILE = "alienNeutral.png";
+    private static final String CURVES_FILE = "difficulty.json";
 
-    // Same speed for all difficulties
-    private static float PLANET_SPEED = 130f;
-    private static final float EASY_PLANET_SPAWN_INTERVAL = 3.0f;
-    private static final float MEDIUM_PLANET_SPAWN_INTERVAL = 2.0f;
-    private static final float HARD_PLANET_SPAWN_INTERVAL = 1.2f;
+    // Jump key for each player, gamepad number i also controls player i
+    private static final int[] PLAYER_KEYS = { Keys.SPACE, Keys.W, Keys.UP, Keys.I, Keys.T, Keys.ENTER,
+            Keys.NUMPAD_8, Keys.P };
 
-    // Max planets allowed on screen per difficulty
-    private static final int EASY_MAX_PLANETS = 3;
-    private static final int MEDIUM_MAX_PLANETS = 5;
-    private static final int HARD_MAX_PLANETS = 6;
+    // Background stars drift at part of this speed, planet speeds come from the difficulty curve
+    private static final float STAR_SPEED = 130f;
 
     private AlienGame alienGame;
-    private SpriteBatch batch;
-    private AnimatedSprite alien;
+    private Renderer renderer;
+    private AnimatedSprite[] aliens; // one per possible player, only the first playerCount are used
+    private boolean[] alive;
+    private boolean[] gamepadWasPressed;
+    private int playerCount;
+    private int aliveCount;
+    private StringBuilder hudText = new StringBuilder();
+    private CachedLayer hudLayer; // score labels, only painted again when a score changes
+    private long[] hudPoints = new long[AlienGame.MAX_PLAYERS];
+    private long hudHighScore;
     private List<AnimatedSprite> planets;
+    private List<AnimatedSprite> freePlanets; // made up front so spawning does not allocate
     private List<AnimatedSprite> backgroundStars; // For background stars
-    private BitmapFont font;
-    private String[] planetsArr = { "bloodMoon.png", "earth.png", "jupiter.png", "mars.png", "moon.png", "venus.png" };
+    private FontService fonts;
+    private ParticleSystem particles;
+    private Telemetry telemetry;
+    private Texture[] planetTextures; // one per Planet, loaded once and shared by all planets
 
     private static final float GRAVITY = -1800f;
     private static final float BOUNCE_VELOCITY = 680f;
     private static final int STAR_COUNT = 50; // Number of background stars
+    private static final float TWINKLES_PER_SECOND = 3f;
+    private static final float CRASH_DURATION = 0.8f; // Time the crash plays before game over
+    private static final int TICKS_PER_SECOND = 120; // in threaded mode
 
     private boolean gameOver = false;
+    private boolean crashed = false;
+    private float crashTimer;
     private float elapsedTime;
     private boolean isFirstInput = true;
-    private float planetSpawnTimer = 0;
-    private static float PLANET_SPAWN_INTERVAL;
-    private static int MAX_PLANETS_ON_SCREEN;
-    private Music gamePlayMusic = Gdx.audio.newMusic(Gdx.files.internal("music/1.MainTheme-320bit(chosic.com).mp3"));
-    private Sound jumpingMusic = Gdx.audio.newSound(Gdx.files.internal("music/retro-jump.mp3"));
-    private Texture stars = new Texture(Gdx.files.internal("extrasmallstars.png"));
+    private boolean showDebug = false;
+    private float planetSpawnTimer = 0; // time since the last wave
+    private Map<Difficulty, DifficultyCurve> curves;
+    private WaveGenerator waves;
+    // where the wave generator starts when the screen is shown
+    private long waveSeed;
+    private long waveIndex;
+    private float waveTime;
+    private Music gamePlayMusic;
+    private Sound jumpingMusic;
+    private Texture stars;
+    private ResourceTracker resources;
 
     // New textures for normal and jump state
     private Texture alienFallingTexture;
     private Texture alienJumpTexture;
     private Texture alienNeutralTexture;
+    private TextureRegion[] alienRegions; // indexed by WorldSnapshot.ALIEN_FALLING and friends
+    private TextureRegion[] planetRegions;
+
+    private SimulationThread simulation;
+    private QualityGovernor quality;
+    private FrameBuffer sceneBuffer; // the world at reduced resolution, when quality calls for it
+    private TextureRegion sceneRegion;
+    private StringBuilder debugText = new StringBuilder();
+    private final RandomXS128 random = new RandomXS128(); // all randomness in the world, so it can be saved
+    private boolean restored; // show() continues a saved run instead of starting a new one
+    private boolean resumeThreaded; // the simulation thread was stopped by pause()
+    private final AtomicInteger pendingJumps = new AtomicInteger(); // one bit per player
+    // the two latest ticks, drawn in between, and a spare to copy the next one into
+    private WorldSnapshot previous = new WorldSnapshot(STAR_COUNT);
+    private WorldSnapshot current = new WorldSnapshot(STAR_COUNT);
+    private WorldSnapshot incoming = new WorldSnapshot(STAR_COUNT);
 
     public GameScreen(AlienGame alienGame) {
         this.alienGame = alienGame;
-        this.batch = new SpriteBatch();
-        // Load both textures
-        alienFallingTexture = new Texture("alienFalling.png");
-        alienJumpTexture = new Texture("alienJumping.png");
-        alienNeutralTexture = new Texture("alienNeutral.png");
+        this.renderer = alienGame.getRenderer();
+        this.telemetry = alienGame.getTelemetry();
+        this.resources = alienGame.getResources();
+        gamePlayMusic = resources.loadMusic(OWNER, "music/1.MainTheme-320bit(chosic.com).mp3");
+        jumpingMusic = resources.loadSound(OWNER, "music/retro-jump.mp3");
+        stars = resources.loadTexture(OWNER, STARS_FILE, false);
 
-        // Initialize alien with the normal texture
-        this.alien = new AnimatedSprite(alienFallingTexture, 0, 0, ALIEN_WIDTH, ALIEN_HEIGHT);
-        this.planets = new ArrayList<>();
+        // Load both textures
+        alienFallingTexture = loadMipMapped(ALIEN_FALLING_FILE);
+        alienJumpTexture = loadMipMapped(ALIEN_JUMPING_FILE);
+        alienNeutralTexture = loadMipMapped(ALIEN_NEUTRAL_FILE);
+        alienRegions = new TextureRegion[] { new TextureRegion(alienFallingTexture),
+                new TextureRegion(alienNeutralTexture), new TextureRegion(alienJumpTexture) };
+
+        // Initialize aliens with the normal texture
+        this.aliens = new AnimatedSprite[AlienGame.MAX_PLAYERS];
+        for (int i = 0; i < aliens.length; i++) {
+            aliens[i] = new AnimatedSprite(alienFallingTexture, 0, 0, ALIEN_WIDTH, ALIEN_HEIGHT);
+        }
+        this.alive = new boolean[AlienGame.MAX_PLAYERS];
+        this.gamepadWasPressed = new boolean[AlienGame.MAX_PLAYERS];
+        this.planetTextures = new Texture[Planet.values().length];
+        for (Planet planet : Planet.values()) {
+            planetTextures[planet.ordinal()] = resources.loadTexture(OWNER, planet.getFilename(), false);
+        }
+        this.planetRegions = new TextureRegion[planetTextures.length];
+        for (int i = 0; i < planetTextures.length; i++) {
+            planetRegions[i] = new TextureRegion(planetTextures[i]);
+        }
+        this.planets = new ArrayList<>(WorldSnapshot.MAX_PLANETS);
+        this.freePlanets = new ArrayList<>(WorldSnapshot.MAX_PLANETS);
+        for (int i = 0; i < WorldSnapshot.MAX_PLANETS; i++) {
+            freePlanets.add(new AnimatedSprite(planetRegions[0], 0, 0, 0, 0));
+        }
         this.backgroundStars = new ArrayList<>();
-        this.font = new BitmapFont();
-        font.getData().setScale(2);
-        font.setColor(Color.WHITE);
+        this.particles = new ParticleSystem(resources);
+        this.fonts = alienGame.getFonts();
+        this.hudLayer = new CachedLayer(resources, OWNER, this::paintHud);
+        this.simulation = new SimulationThread(this::tick, TICKS_PER_SECOND, STAR_COUNT);
+        this.quality = alienGame.getQuality();
+        this.curves = DifficultyCurve.load(Gdx.files.internal(CURVES_FILE));
+        this.waves = new WaveGenerator(planetTextures.length, ALIEN_HEIGHT);
 
         initializeBackgroundStars();
     }
 
+    /**
+     * Start decoding the textures of the screen in the background, so the
+     * screen is quick to create later.
+     */
+    public static void preload(TextureLoader loader) {
+        loader.queue(STARS_FILE, false);
+        loader.queue(ALIEN_FALLING_FILE, true);
+        loader.queue(ALIEN_JUMPING_FILE, true);
+        loader.queue(ALIEN_NEUTRAL_FILE, true);
+        for (Planet planet : Planet.values()) {
+            loader.queue(planet.getFilename(), false);
+        }
+    }
+
+    /**
+     * Load a texture that is drawn smaller than its source image, with mipmaps
+     * so it does not shimmer when scaled down.
+     */
+    private Texture loadMipMapped(String filename) {
+        Texture texture = resources.loadTexture(OWNER, filename, true);
+        texture.setFilter(Texture.TextureFilter.MipMapLinearLinear, Texture.TextureFilter.Linear);
+        return texture;
+    }
+
     private void initializeBackgroundStars() {
         Random random = new Random();
 
@@ -85,11 +189,11 @@ public class GameScreen extends ScreenAdapter implements InputProcessor {
                                                                            // 64
 
             // make planets move faster depending on difficulty
-            float minSpeedFactor = 0.4f; // 40% of PLANET_SPEED
-            float maxSpeedFactor = 0.8f; // 70% of PLANET_SPEED
+            float minSpeedFactor = 0.4f; // 40% of STAR_SPEED
+            float maxSpeedFactor = 0.8f; // 70% of STAR_SPEED
 
             float speedFactor = minSpeedFactor + random.nextFloat() * (maxSpeedFactor - minSpeedFactor);
-            float starSpeed = -PLANET_SPEED * speedFactor;
+            float starSpeed = -STAR_SPEED * speedFactor;
 
             star.setDeltaX(starSpeed);
 
@@ -97,86 +201,84 @@ public class GameScreen extends ScreenAdapter implements InputProcessor {
         }
     }
 
-    private String randomizePlanet() {
-        Random random = new Random();
-        int randomPlanetIndex = random.nextInt(planetsArr.length);
-        return planetsArr[randomPlanetIndex];
+    /**
+     * Pick one of the aliens still flying.
+     */
+    private AnimatedSprite randomAliveAlien() {
+        int skip = random.nextInt(aliveCount);
+        for (int i = 0; i < playerCount; i++) {
+            if (alive[i] && skip-- == 0) {
+                return aliens[i];
+            }
+        }
+        return aliens[0];
     }
 
-    private void addPlanet() {
-        int screenWidth = Gdx.graphics.getWidth();
-        int screenHeight = Gdx.graphics.getHeight();
-
-        int minDistance = 50;
-        int maxAttempts = 10;
-
-        int attempts = 0;
-
-        int x, y;
-        boolean positionValid;
-
-        do {
-            x = ThreadLocalRandom.current().nextInt(screenWidth - 10, screenWidth);
-            y = ThreadLocalRandom.current().nextInt(0, screenHeight - ALIEN_HEIGHT);
-
-            positionValid = true;
-
-            for (AnimatedSprite planet : planets) {
-                float distanceX = Math.abs(planet.getX() - x);
-                float distanceY = Math.abs(planet.getY() - y);
-
-                if (distanceX < minDistance && distanceY < minDistance) {
-                    positionValid = false;
-                    break;
-                }
+    /**
+     * Which Planet a planet sprite shows, found by its texture.
+     */
+    private int planetKind(AnimatedSprite planet) {
+        for (int i = 0; i < planetTextures.length; i++) {
+            if (planetTextures[i] == planet.getTexture()) {
+                return i;
             }
-
-            attempts++;
-        } while (!positionValid && attempts < maxAttempts);
-
-        // System.out.println("attempts: " + attempts + " x: " + x + " y: " + y + "
-        // positionValid: " + positionValid);
-        if (positionValid) {
-            addPlanet(x, y);
         }
+        return -1;
     }
 
-    private void addPlanet(int x, int y) {
-        String planetTexturePath = randomizePlanet();
-        Texture planetTexture = new Texture(planetTexturePath);
+    /**
+     * Put the planets of a wave on screen.
+     */
+    private void spawnWave(WaveGenerator.Wave wave) {
+        float y = wave.y;
+        AnimatedSprite alien = randomAliveAlien();
 
         // If cheating in the start, or touching floor/ruff
         if (alien.getDeltaY() == 0f) {
-            y = (int) alien.getY();
+            y = alien.getY();
         } else if (alien.getY() == 0) {
             y = 0;
         } else if (alien.getY() >= (screenHeight - (int) alien.getHeight())) {
             y = (screenHeight - (int) alien.getHeight());
         }
 
-        System.out.println(alienGame.getPoints());
-
-        // Save the game from crashing
-        if (alienGame.getPoints() == 2147483640) { // Max: 2147483647
-            for (int wall = 0; wall <= screenHeight; wall += 90) {
-                AnimatedSprite planet = new AnimatedSprite(planetTexture, x, wall, planetTexture.getWidth(),
-                        planetTexture.getWidth());
-                planet.setDeltaX(-PLANET_SPEED);
-                planets.add(planet);
+        for (int i = 0; i < wave.count; i++) {
+            int x = (int) (wave.x + wave.offsetX[i]);
+            int planetY = (int) MathUtils.clamp(y + wave.planetY[i], 0, screenHeight - ALIEN_HEIGHT);
+            if (addPlanet(wave.kind[i], x, planetY, -wave.speed) != null) {
+                telemetry.record(Telemetry.SPAWN, 0, wave.kind[i], alienGame.getDifficulty(), x, planetY, 0);
             }
-        } else {
-            AnimatedSprite planet = new AnimatedSprite(planetTexture, x, y, planetTexture.getWidth(),
-                    planetTexture.getHeight());
-            planet.setDeltaX(-PLANET_SPEED);
-            planets.add(planet);
         }
-        // planet.setDeltaX(-PLANET_SPEED);
-        // planets.add(planet);
+    }
+
+    /**
+     * Take a planet sprite from the free ones and put it on screen at its
+     * texture's size.
+     *
+     * @return the planet, or null if all planet sprites are in use
+     */
+    private AnimatedSprite addPlanet(int kind, int x, int y, float deltaX) {
+        if (freePlanets.isEmpty()) {
+            return null;
+        }
+        TextureRegion region = planetRegions[kind];
+        AnimatedSprite planet = freePlanets.remove(freePlanets.size() - 1);
+        planet.reset(region, x, y, region.getRegionWidth(), region.getRegionHeight());
+        planet.setDeltaX(deltaX);
+        planets.add(planet);
+        return planet;
+    }
+
+    private void clearPlanets() {
+        freePlanets.addAll(planets);
+        planets.clear();
     }
 
     @Override
     public void hide() {
         Gdx.input.setInputProcessor(null);
+        simulation.stop();
+        waves.stop();
     }
 
     @Override
@@ -184,37 +286,253 @@ public class GameScreen extends ScreenAdapter implements InputProcessor {
         final int width = Gdx.graphics.getWidth();
         final int height = Gdx.graphics.getHeight();
 
-        elapsedTime = 0;
+        if (restored) {
+            restored = false;
+        } else {
+            startRun();
+        }
+
         gameOver = false;
+        particles.clear();
+        for (int i = 0; i < playerCount; i++) {
+            aliens[i].setBounds(new Rectangle(0, 0, width / 2f, height));
+            gamepadWasPressed[i] = false;
+        }
+        hudLayer.invalidate();
+        pendingJumps.set(0);
+        previous.tick = -1;
+        incoming.tick = -1;
+        waves.start(curves.get(alienGame.getDifficulty()), waveSeed, waveIndex, waveTime, width, height);
+
+        // the world is only touched by the simulation thread from here on
+        if (alienGame.isThreadedSimulation()) {
+            simulation.start();
+            simulation.poll(current);
+        } else {
+            tick(0, current);
+        }
+
+        Gdx.input.setInputProcessor(this);
+    }
+
+    private void startRun() {
+        final int height = Gdx.graphics.getHeight();
 
-        // Set difficulty-based parameters
-        switch (alienGame.getDifficulty()) {
-            case EASY:
-                PLANET_SPAWN_INTERVAL = EASY_PLANET_SPAWN_INTERVAL;
-                MAX_PLANETS_ON_SCREEN = EASY_MAX_PLANETS;
-                break;
-            case MEDIUM:
-                PLANET_SPEED = 180f;
-                PLANET_SPAWN_INTERVAL = MEDIUM_PLANET_SPAWN_INTERVAL;
-                MAX_PLANETS_ON_SCREEN = MEDIUM_MAX_PLANETS;
-                break;
-            case HARD:
-                PLANET_SPEED = 200f;
-                PLANET_SPAWN_INTERVAL = HARD_PLANET_SPAWN_INTERVAL;
-                MAX_PLANETS_ON_SCREEN = HARD_MAX_PLANETS;
-                break;
-        }
-
-        alien.setBounds(new Rectangle(0, 0, width / 2f, height));
-        alien.setPosition(100, height / 2 - ALIEN_HEIGHT / 2);
-
-        alien.setDeltaY(0);
+        elapsedTime = 0;
+        crashed = false;
+        crashTimer = 0;
+
+        // Spread the aliens out evenly over the height of the screen
+        playerCount = alienGame.getPlayerCount();
+        aliveCount = playerCount;
+        float spacing = height / (playerCount + 1f);
+        for (int i = 0; i < playerCount; i++) {
+            AnimatedSprite alien = aliens[i];
+            alien.setPosition(100, (int) (spacing * (i + 1)) - ALIEN_HEIGHT / 2);
+            alien.setDeltaY(0);
+            alive[i] = true;
+        }
         isFirstInput = true;
+        telemetry.record(Telemetry.RUN_START, 0, -1, alienGame.getDifficulty(), 0, 0, playerCount);
 
-        planets.clear();
+        clearPlanets();
         planetSpawnTimer = 0;
+        waveSeed = random.nextLong();
+        waveIndex = 0;
+        waveTime = 0;
+    }
 
-        Gdx.input.setInputProcessor(this);
+    /**
+     * Save the run when the game is put away or closed. The world must not
+     * be ticking.
+     */
+    private void writeState(ByteBuffer buffer) {
+        buffer.put((byte) alienGame.getDifficulty().ordinal());
+        buffer.put((byte) playerCount);
+        buffer.putLong(waves.getSeed());
+        buffer.putLong(waves.getNextIndex());
+        buffer.putFloat(waves.getNextTime());
+        buffer.putFloat(elapsedTime);
+        buffer.putFloat(planetSpawnTimer);
+        buffer.put((byte) (isFirstInput ? 1 : 0));
+        buffer.putLong(random.getState(0));
+        buffer.putLong(random.getState(1));
+
+        for (int i = 0; i < playerCount; i++) {
+            AnimatedSprite alien = aliens[i];
+            buffer.put((byte) (alive[i] ? 1 : 0));
+            buffer.putLong(alienGame.getPoints(i));
+            buffer.putFloat(alien.getX());
+            buffer.putFloat(alien.getY());
+            buffer.putFloat(alien.getDeltaY());
+            buffer.put((byte) alienState(alien));
+        }
+
+        int planetCount = Math.min(planets.size(), WorldSnapshot.MAX_PLANETS);
+        buffer.put((byte) planetCount);
+        for (int i = 0; i < planetCount; i++) {
+            AnimatedSprite planet = planets.get(i);
+            buffer.put((byte) planetKind(planet));
+            buffer.putFloat(planet.getX());
+            buffer.putFloat(planet.getY());
+            buffer.putFloat(planet.getWidth());
+            buffer.putFloat(planet.getHeight());
+            buffer.putFloat(planet.getDeltaX());
+        }
+
+        buffer.put((byte) backgroundStars.size());
+        for (AnimatedSprite star : backgroundStars) {
+            buffer.putFloat(star.getX());
+            buffer.putFloat(star.getY());
+        }
+    }
+
+    /**
+     * Continue a saved run the next time the screen is shown. The whole save
+     * is read before anything is changed, so a damaged save leaves the game
+     * and the high scores as they were.
+     *
+     * @throws BufferUnderflowException if the save is cut short
+     * @throws IllegalStateException if the save holds values this version
+     *                               does not know
+     */
+    public void restore(ByteBuffer buffer) {
+        int difficulty = buffer.get();
+        int savedPlayers = buffer.get();
+        if (difficulty < 0 || difficulty >= Difficulty.values().length || savedPlayers < 1
+                || savedPlayers > AlienGame.MAX_PLAYERS) {
+            throw new IllegalStateException("Saved run has difficulty " + difficulty + " and " + savedPlayers
+                    + " players");
+        }
+        long savedWaveSeed = buffer.getLong();
+        long savedWaveIndex = buffer.getLong();
+        float savedWaveTime = buffer.getFloat();
+        float savedElapsedTime = buffer.getFloat();
+        float savedSpawnTimer = buffer.getFloat();
+        boolean savedFirstInput = buffer.get() != 0;
+        long seed0 = buffer.getLong();
+        long seed1 = buffer.getLong();
+
+        boolean[] savedAlive = new boolean[savedPlayers];
+        long[] savedPoints = new long[savedPlayers];
+        float[] alienValues = new float[savedPlayers * 3]; // x, y and vertical speed
+        int[] savedStates = new int[savedPlayers];
+        int savedAliveCount = 0;
+        for (int i = 0; i < savedPlayers; i++) {
+            savedAlive[i] = buffer.get() != 0;
+            if (savedAlive[i]) {
+                savedAliveCount++;
+            }
+            savedPoints[i] = buffer.getLong();
+            for (int v = 0; v < 3; v++) {
+                alienValues[i * 3 + v] = buffer.getFloat();
+            }
+            savedStates[i] = buffer.get();
+        }
+        if (savedAliveCount == 0) {
+            throw new IllegalStateException("Saved run has no alien left");
+        }
+
+        int planetCount = buffer.get();
+        if (planetCount < 0 || planetCount > WorldSnapshot.MAX_PLANETS) {
+            throw new IllegalStateException("Saved run has " + planetCount + " planets");
+        }
+        int[] planetKinds = new int[planetCount];
+        float[] planetValues = new float[planetCount * 5]; // x, y, width, height and speed
+        for (int i = 0; i < planetCount; i++) {
+            planetKinds[i] = buffer.get();
+            if (planetKinds[i] < 0 || planetKinds[i] >= planetTextures.length) {
+                throw new IllegalStateException("Saved run has unknown planet " + planetKinds[i]);
+            }
+            for (int v = 0; v < 5; v++) {
+                planetValues[i * 5 + v] = buffer.getFloat();
+            }
+        }
+
+        int starCount = buffer.get() & 0xff;
+        float[] starValues = new float[starCount * 2];
+        for (int i = 0; i < starValues.length; i++) {
+            starValues[i] = buffer.getFloat();
+        }
+
+        // everything is read, now it can be applied
+        alienGame.setDifficulty(Difficulty.values()[difficulty]);
+        playerCount = savedPlayers;
+        alienGame.setPlayerCount(playerCount);
+        waveSeed = savedWaveSeed;
+        waveIndex = savedWaveIndex;
+        waveTime = savedWaveTime;
+        elapsedTime = savedElapsedTime;
+        planetSpawnTimer = savedSpawnTimer;
+        isFirstInput = savedFirstInput;
+        random.setState(seed0, seed1);
+        crashed = false;
+        crashTimer = 0;
+
+        aliveCount = savedAliveCount;
+        for (int i = 0; i < playerCount; i++) {
+            AnimatedSprite alien = aliens[i];
+            alive[i] = savedAlive[i];
+            alienGame.addPoints(i, savedPoints[i]);
+            alien.setPosition(Math.round(alienValues[i * 3]), Math.round(alienValues[i * 3 + 1]));
+            alien.setDeltaY(alienValues[i * 3 + 2]);
+            alien.setTexture(alienTextureFor(savedStates[i]));
+        }
+
+        clearPlanets();
+        for (int i = 0; i < planetCount; i++) {
+            // planets are always the size of their texture, the saved size is not needed
+            addPlanet(planetKinds[i], Math.round(planetValues[i * 5]), Math.round(planetValues[i * 5 + 1]),
+                    planetValues[i * 5 + 4]);
+        }
+
+        for (int i = 0; i < starCount && i < backgroundStars.size(); i++) {
+            backgroundStars.get(i).setPosition(Math.round(starValues[i * 2]), Math.round(starValues[i * 2 + 1]));
+        }
+        restored = true;
+    }
+
+    private int alienState(AnimatedSprite alien) {
+        if (alien.getTexture() == alienJumpTexture) {
+            return WorldSnapshot.ALIEN_JUMPING;
+        } else if (alien.getTexture() == alienNeutralTexture) {
+            return WorldSnapshot.ALIEN_NEUTRAL;
+        }
+        return WorldSnapshot.ALIEN_FALLING;
+    }
+
+    private Texture alienTextureFor(int state) {
+        switch (state) {
+            case WorldSnapshot.ALIEN_JUMPING:
+                return alienJumpTexture;
+            case WorldSnapshot.ALIEN_NEUTRAL:
+                return alienNeutralTexture;
+            default:
+                return alienFallingTexture;
+        }
+    }
+
+    @Override
+    public void pause() {
+        // Keep the run if the game is put away or closed, a finished run is not worth keeping
+        if (gameOver || current.crashed) {
+            return;
+        }
+        if (simulation.isRunning()) {
+            simulation.stop();
+            resumeThreaded = true;
+        }
+        alienGame.getSaveGame().save(this::writeState);
+    }
+
+    @Override
+    public void resume() {
+        // the run goes on, a save from when it was put away would be out of date
+        alienGame.getSaveGame().delete();
+        if (resumeThreaded) {
+            resumeThreaded = false;
+            simulation.start();
+        }
     }
 
     @Override
@@ -223,51 +541,172 @@ public class GameScreen extends ScreenAdapter implements InputProcessor {
             return;
         }
 
-        if (!gamePlayMusic.isPlaying() && !gameOver) {
+        pollGamepads();
+        particles.setDensity(quality.getEffectsDensity());
+        if (simulation.isRunning()) {
+            if (simulation.poll(incoming)) {
+                WorldSnapshot oldest = previous;
+                previous = current;
+                current = incoming;
+                incoming = oldest;
+                playEvents(current);
+            }
+        } else {
+            tick(deltaTime, current);
+            playEvents(current);
+        }
+        particles.update(deltaTime);
+
+        if (current.crashed) {
+            if (gamePlayMusic.isPlaying()) {
+                gamePlayMusic.stop();
+            }
+        } else if (!gamePlayMusic.isPlaying()) {
             gamePlayMusic.play();
         }
 
-        elapsedTime += deltaTime;
-        planetSpawnTimer += deltaTime;
+        renderScreen();
 
-        if (planetSpawnTimer >= PLANET_SPAWN_INTERVAL && planets.size() < MAX_PLANETS_ON_SCREEN) {
-            addPlanet();
-            planetSpawnTimer = 0;
+        if (current.over) {
+            gameOver = true;
+            alienGame.getSaveGame().delete();
+            alienGame.gameOver();
         }
+    }
 
-        updateState(deltaTime);
-        renderScreen();
-        checkForGameOver();
+    /**
+     * Advance the world by deltaTime and write the result into the snapshot.
+     * Called on the simulation thread in threaded mode, otherwise on the
+     * render thread once per frame.
+     */
+    private void tick(float deltaTime, WorldSnapshot snapshot) {
+        snapshot.eventCount = 0;
+
+        // Let the crash play out with the world frozen before switching screen
+        if (crashed) {
+            crashTimer += deltaTime;
+        } else {
+            elapsedTime += deltaTime;
+            planetSpawnTimer += deltaTime;
+
+            // the waves are worked out ahead of time, spawning only takes the next one
+            WaveGenerator.Wave wave = waves.peek();
+            if (wave != null && planetSpawnTimer >= wave.delay
+                    && planets.size() + wave.count <= wave.maxPlanets) {
+                spawnWave(wave);
+                waves.remove();
+                planetSpawnTimer = 0;
+            }
+
+            applyJumps(snapshot);
+            updateState(deltaTime, snapshot);
+            checkForGameOver(snapshot);
+        }
+
+        writeSnapshot(snapshot);
     }
 
-    private void updateState(float deltaTime) {
-        if (!isFirstInput) {
-            alien.setDeltaY(alien.getDeltaY() + GRAVITY * deltaTime);
+    private void writeSnapshot(WorldSnapshot snapshot) {
+        snapshot.elapsedTime = elapsedTime;
+        snapshot.crashed = crashed;
+        snapshot.over = crashed && crashTimer >= CRASH_DURATION;
+
+        snapshot.playerCount = playerCount;
+        for (int i = 0; i < playerCount; i++) {
+            AnimatedSprite alien = aliens[i];
+            snapshot.alive[i] = alive[i];
+            snapshot.alienX[i] = alien.getX();
+            snapshot.alienY[i] = alien.getY();
+            snapshot.alienState[i] = alienState(alien);
+            snapshot.points[i] = alienGame.getPoints(i);
+        }
+        snapshot.highScore = alienGame.getHighScore();
+
+        snapshot.planetCount = Math.min(planets.size(), WorldSnapshot.MAX_PLANETS);
+        for (int i = 0; i < snapshot.planetCount; i++) {
+            AnimatedSprite planet = planets.get(i);
+            snapshot.planetKind[i] = planetKind(planet);
+            snapshot.planetX[i] = planet.getX();
+            snapshot.planetY[i] = planet.getY();
+            snapshot.planetWidth[i] = planet.getWidth();
+            snapshot.planetHeight[i] = planet.getHeight();
+            snapshot.planetDeltaX[i] = planet.getDeltaX();
         }
 
-        // When falling, revert to the normal texture.
-        if (alien.getDeltaY() <= -200) {
-            alien.setTexture(alienFallingTexture);
-        } else if (alien.getDeltaY() <= 200) {
-            alien.setTexture(alienNeutralTexture);
+        for (int i = 0; i < backgroundStars.size(); i++) {
+            AnimatedSprite star = backgroundStars.get(i);
+            snapshot.starX[i] = star.getX();
+            snapshot.starY[i] = star.getY();
+            snapshot.starDeltaX[i] = star.getDeltaX();
         }
+    }
 
-        // System.out.println(alien.getDeltaY());
+    /**
+     * Turn the events of a tick into particles.
+     */
+    private void playEvents(WorldSnapshot snapshot) {
+        for (int i = 0; i < snapshot.eventCount; i++) {
+            float x = snapshot.eventX[i];
+            float y = snapshot.eventY[i];
+            switch (snapshot.eventType[i]) {
+                case WorldSnapshot.EVENT_JUMP:
+                    particles.emitJumpThrust(x, y);
+                    break;
+                case WorldSnapshot.EVENT_CRASH:
+                    particles.emitCrash(x, y);
+                    break;
+                case WorldSnapshot.EVENT_TWINKLE:
+                    particles.emitTwinkle(x, y);
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Gamepads are polled rather than listened to, gamepad i jumps for player i.
+     */
+    private void pollGamepads() {
+        Array<Controller> controllers = Controllers.getControllers();
+        for (int i = 0; i < controllers.size && i < playerCount; i++) {
+            Controller controller = controllers.get(i);
+            boolean pressed = controller.getButton(controller.getMapping().buttonA);
+            if (pressed && !gamepadWasPressed[i]) {
+                jump(i);
+            }
+            gamepadWasPressed[i] = pressed;
+        }
+    }
+
+    private void updateState(float deltaTime, WorldSnapshot snapshot) {
+        for (int i = 0; i < playerCount; i++) {
+            if (!alive[i]) {
+                continue;
+            }
+            AnimatedSprite alien = aliens[i];
+            if (!isFirstInput) {
+                alien.setDeltaY(alien.getDeltaY() + GRAVITY * deltaTime);
+            }
 
-        alien.update(deltaTime);
+            // When falling, revert to the normal texture.
+            if (alien.getDeltaY() <= -200) {
+                alien.setTexture(alienFallingTexture);
+            } else if (alien.getDeltaY() <= 200) {
+                alien.setTexture(alienNeutralTexture);
+            }
 
-        // Update planets
-        List<AnimatedSprite> toRemove = new ArrayList<>();
-        for (AnimatedSprite planet : planets) {
+            alien.update(deltaTime);
+        }
+
+        // Update planets, backwards so passed planets can be removed in place
+        int passedPlanets = 0;
+        for (int i = planets.size() - 1; i >= 0; i--) {
+            AnimatedSprite planet = planets.get(i);
             planet.update(deltaTime);
             if (planet.getX() < -planet.getWidth()) {
-                toRemove.add(planet);
+                freePlanets.add(planets.remove(i));
+                passedPlanets++;
             }
         }
-        planets.removeAll(toRemove);
-        for (AnimatedSprite planet : toRemove) {
-            planet.dispose();
-        }
 
         // Update background stars
         for (AnimatedSprite star : backgroundStars) {
@@ -275,96 +714,320 @@ public class GameScreen extends ScreenAdapter implements InputProcessor {
             // Wrap stars around when they go off screen
             if (star.getX() < -star.getWidth()) {
                 star.setPosition(Gdx.graphics.getWidth(),
-                        ThreadLocalRandom.current().nextInt(0, Gdx.graphics.getHeight()));
+                        random.nextInt(Gdx.graphics.getHeight()));
+            }
+        }
+
+        // Let a random star glint now and then
+        if (random.nextFloat() < TWINKLES_PER_SECOND * deltaTime) {
+            AnimatedSprite star = backgroundStars.get(random.nextInt(backgroundStars.size()));
+            snapshot.addEvent(WorldSnapshot.EVENT_TWINKLE, star.getX() + star.getWidth() / 2,
+                    star.getY() + star.getHeight() / 2);
+        }
+
+        if (passedPlanets > 0) {
+            for (int i = 0; i < playerCount; i++) {
+                if (alive[i]) {
+                    alienGame.addPoints(i, passedPlanets);
+                    // the log keeps 32-bit values, no real score gets near the limit
+                    int score = (int) Math.min(alienGame.getPoints(i), Integer.MAX_VALUE);
+                    telemetry.record(Telemetry.SCORE, i, -1, alienGame.getDifficulty(), aliens[i].getX(),
+                            aliens[i].getY(), score);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void resize(int width, int height) {
+        hudLayer.invalidate();
+    }
+
+    /**
+     * Check if any number shown in the HUD changed since it was last painted.
+     * The scores are taken from the snapshot, the simulation thread may be
+     * changing them in the game.
+     */
+    private boolean hudChanged() {
+        boolean changed = false;
+        for (int i = 0; i < current.playerCount; i++) {
+            if (hudPoints[i] != current.points[i]) {
+                hudPoints[i] = current.points[i];
+                changed = true;
             }
         }
+        if (hudHighScore != current.highScore) {
+            hudHighScore = current.highScore;
+            changed = true;
+        }
+        return changed;
+    }
 
-        alienGame.addPoints(toRemove.size());
+    private void paintHud(SpriteBatch batch) {
+        fonts.begin(batch);
+        float textY = Gdx.graphics.getHeight() - 20;
+        for (int i = 0; i < current.playerCount; i++) {
+            hudText.setLength(0);
+            if (current.playerCount == 1) {
+                hudText.append("Score: ");
+            } else {
+                hudText.append("Player ").append(i + 1).append(": ");
+            }
+            hudText.append(current.points[i]);
+            fonts.draw(batch, hudText, FontService.MEDIUM, 20, textY);
+            textY -= 30;
+        }
+        hudText.setLength(0);
+        hudText.append("High Score: ").append(current.highScore);
+        fonts.draw(batch, hudText, FontService.MEDIUM, 20, textY);
+        fonts.end(batch);
     }
 
     private void renderScreen() {
+        if (hudChanged()) {
+            hudLayer.invalidate();
+        }
+        hudLayer.refresh(renderer.getBatch());
+
+        FrameBuffer scene = sceneBuffer(quality.getRenderScale());
+        if (scene != null) {
+            scene.begin();
+        }
         Gdx.gl.glClearColor(0.043f, 0.078f, 0.22f, 1.0f);
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT | GL20.GL_DEPTH_BUFFER_BIT);
 
-        batch.begin();
+        // In threaded mode the frame falls between the two latest ticks. Things
+        // moving at a steady speed are moved back by the time left until the
+        // next tick, the aliens are blended between the two ticks.
+        float alpha = 1f;
+        if (simulation.isRunning() && !current.crashed) {
+            alpha = MathUtils.clamp((System.nanoTime() - current.nanos) / (float) simulation.getTickNanos(), 0f, 1f);
+        }
+        float behind = (1f - alpha) / TICKS_PER_SECOND;
+        boolean blend = simulation.isRunning() && previous.tick == current.tick - 1;
+        float time = current.elapsedTime - behind;
+
+        renderer.begin();
 
         // Draw background stars first
-        for (AnimatedSprite star : backgroundStars) {
-            star.draw(batch, elapsedTime);
+        int starCount = (int) (backgroundStars.size() * quality.getStarFraction());
+        float starTime = quality.isStarAnimation() ? time : 0;
+        for (int i = 0; i < starCount; i++) {
+            backgroundStars.get(i).draw(renderer, starTime, Renderer.LAYER_BACKGROUND,
+                    current.starX[i] - current.starDeltaX[i] * behind, current.starY[i]);
         }
 
         // Draw game objects
-        alien.draw(batch, elapsedTime);
-        for (AnimatedSprite planet : planets) {
-            planet.draw(batch, elapsedTime);
+        for (int i = 0; i < current.playerCount; i++) {
+            if (current.alive[i]) {
+                float y = blend ? MathUtils.lerp(previous.alienY[i], current.alienY[i], alpha) : current.alienY[i];
+                renderer.draw(alienRegions[current.alienState[i]], current.alienX[i], y, ALIEN_WIDTH, ALIEN_HEIGHT,
+                        Renderer.LAYER_PLAYER);
+            }
+        }
+        for (int i = 0; i < current.planetCount; i++) {
+            renderer.draw(planetRegions[current.planetKind[i]], current.planetX[i] - current.planetDeltaX[i] * behind,
+                    current.planetY[i], current.planetWidth[i], current.planetHeight[i], Renderer.LAYER_OBJECTS);
+        }
+
+        SpriteBatch batch = renderer.flush();
+        particles.draw(batch);
+
+        if (scene != null) {
+            // scale the world up to the window, the UI stays sharp
+            batch.end();
+            scene.end();
+            batch.begin();
+            batch.disableBlending();
+            batch.draw(sceneRegion, 0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+            batch.enableBlending();
         }
 
         // Draw UI
-        font.draw(batch, "Score: " + alienGame.getPoints(), 20, Gdx.graphics.getHeight() - 20);
-        font.draw(batch, "High Score: " + alienGame.getHighScore(), 20, Gdx.graphics.getHeight() - 50);
-        batch.end();
+        hudLayer.draw(batch);
+        if (showDebug) {
+            // stats are from the previous frame, this one is not finished yet
+            fonts.begin(batch);
+            debugText.setLength(0);
+            debugText.append("Draw calls: ").append(renderer.getDrawCalls()).append("  Vertices: ")
+                    .append(renderer.getVertices());
+            fonts.draw(batch, debugText, FontService.SMALL, 20, 80);
+            debugText.setLength(0);
+            debugText.append("Sprites: ").append(renderer.getSprites()).append("  Culled: ")
+                    .append(renderer.getCulled());
+            fonts.draw(batch, debugText, FontService.SMALL, 20, 50);
+            debugText.setLength(0);
+            debugText.append("Resources: ").append(resources.getLiveCount()).append("  Memory: ")
+                    .append(resources.getTotalBytes() / 1024).append(" KiB");
+            fonts.draw(batch, debugText, FontService.SMALL, 20, 110);
+            TextureLoader loader = alienGame.getTextureLoader();
+            debugText.setLength(0);
+            debugText.append("Textures queued: ").append(loader.getQueueDepth()).append("  Uploads: ")
+                    .append(loader.getUploadCount()).append("  Avg: ")
+                    .append(Math.round(loader.getAverageUploadMillis() * 100) / 100f).append(" ms  Max: ")
+                    .append(Math.round(loader.getMaxUploadMillis() * 100) / 100f).append(" ms");
+            fonts.draw(batch, debugText, FontService.SMALL, 20, 170);
+            debugText.setLength(0);
+            if (simulation.isRunning()) {
+                debugText.append("Simulation: ").append(TICKS_PER_SECOND).append(" Hz thread");
+            } else {
+                debugText.append("Simulation: per frame");
+            }
+            fonts.draw(batch, debugText, FontService.SMALL, 20, 140);
+
+            debugText.setLength(0);
+            debugText.append("Quality: ").append(quality.getLevel()).append('/').append(QualityGovernor.HIGHEST)
+                    .append("  Frame: ").append(Math.round(quality.getMedianFrameMillis() * 10) / 10f)
+                    .append(" ms  Scale: ").append(quality.getRenderScale());
+            fonts.draw(batch, debugText, FontService.SMALL, 20, 200);
+            debugText.setLength(0);
+            debugText.append("Changes:");
+            // only the latest fit
+            for (int i = Math.max(0, quality.getHistorySize() - 4); i < quality.getHistorySize(); i++) {
+                QualityGovernor.Change change = quality.getHistory(i);
+                debugText.append("  ").append(change.level).append(" at ").append((int) change.time).append(" s");
+            }
+            fonts.draw(batch, debugText, FontService.SMALL, 20, 230);
+            debugText.setLength(0);
+            debugText.append("Waves ready: ").append(waves.getQueued()).append("  Next: ")
+                    .append(waves.getNextIndex());
+            fonts.draw(batch, debugText, FontService.SMALL, 20, 260);
+            fonts.end(batch);
+        }
+        renderer.end();
     }
 
-    private void checkForGameOver() {
-        for (AnimatedSprite planet : planets) {
-            if (planet.overlaps(alien)) {
-                gameOver = true;
+    /**
+     * The buffer to draw the world into when it is drawn at a lower
+     * resolution than the window, or null when it is not.
+     */
+    private FrameBuffer sceneBuffer(float scale) {
+        int width = Math.round(Gdx.graphics.getWidth() * scale);
+        int height = Math.round(Gdx.graphics.getHeight() * scale);
+        if (scale >= 1f || width == 0 || height == 0) {
+            if (sceneBuffer != null) {
+                resources.release(OWNER, sceneBuffer);
+                sceneBuffer = null;
             }
+            return null;
         }
 
-        if (gameOver) {
-            gamePlayMusic.stop();
-            alienGame.gameOver();
+        if (sceneBuffer == null || sceneBuffer.getWidth() != width || sceneBuffer.getHeight() != height) {
+            if (sceneBuffer != null) {
+                resources.release(OWNER, sceneBuffer);
+            }
+            sceneBuffer = resources.track(OWNER, "scaled scene",
+                    new FrameBuffer(Pixmap.Format.RGB888, width, height, false), (long) width * height * 4);
+            sceneBuffer.getColorBufferTexture().setFilter(Texture.TextureFilter.Linear,
+                    Texture.TextureFilter.Linear);
+            sceneRegion = new TextureRegion(sceneBuffer.getColorBufferTexture());
+            sceneRegion.flip(false, true); // frame buffers are stored upside down
         }
+        return sceneBuffer;
     }
 
-    @Override
-    public void dispose() {
-        batch.dispose();
-        alien.dispose();
-        alienFallingTexture.dispose();
-        alienJumpTexture.dispose();
-        alienNeutralTexture.dispose();
-        font.dispose();
-        for (AnimatedSprite planet : planets) {
-            planet.dispose();
+    /**
+     * Collisions are swept over the whole tick, so an alien cannot pass
+     * through a planet between two ticks however long they are.
+     */
+    private void checkForGameOver(WorldSnapshot snapshot) {
+        for (int i = 0; i < playerCount; i++) {
+            if (!alive[i]) {
+                continue;
+            }
+            AnimatedSprite alien = aliens[i];
+
+            // The first planet hit during the tick is the one that counts
+            int hit = -1;
+            float hitTime = 1;
+            for (int j = 0; j < planets.size(); j++) {
+                float t = alien.timeOfImpact(planets.get(j));
+                if (t >= 0 && t <= hitTime) {
+                    hit = j;
+                    hitTime = t;
+                }
+            }
+
+            if (hit >= 0) {
+                float x = alien.getX(hitTime);
+                float y = alien.getY(hitTime);
+                alive[i] = false;
+                aliveCount--;
+                telemetry.record(Telemetry.DEATH, i, planetKind(planets.get(hit)), alienGame.getDifficulty(), x, y,
+                        (int) (elapsedTime * 1000));
+                snapshot.addEvent(WorldSnapshot.EVENT_CRASH, x + alien.getWidth() / 2, y + alien.getHeight() / 2);
+            }
         }
-        for (AnimatedSprite star : backgroundStars) {
-            star.dispose();
+
+        // The run is over when the last alien is down
+        if (aliveCount == 0) {
+            crashed = true;
         }
     }
 
+    @Override
+    public void dispose() {
+        simulation.stop();
+        waves.stop();
+        // the sprites only borrow their textures, which are all released here
+        particles.dispose();
+        hudLayer.dispose();
+        resources.releaseAll(OWNER);
+    }
+
     // Input handling methods
     @Override
     public boolean keyDown(int keycode) {
-        if (keycode == Keys.SPACE) {
-            if (isFirstInput) {
-                isFirstInput = false;
+        if (keycode == Keys.F3) {
+            showDebug = !showDebug;
+            return true;
+        }
+        for (int i = 0; i < playerCount; i++) {
+            if (keycode == PLAYER_KEYS[i]) {
+                jump(i);
             }
-            long id = jumpingMusic.play(0.5f);
-            jumpingMusic.setPitch(id, 0.5f);
-            // jumpingMusic.play();
-
-            alien.setDeltaY(BOUNCE_VELOCITY);
-            // Switch to the jump texture when the alien jumps
-            alien.setTexture(alienJumpTexture);
         }
         return true;
     }
 
     @Override
     public boolean touchDown(int screenX, int screenY, int pointer, int button) {
-        if (isFirstInput) {
-            isFirstInput = false;
+        jump(0);
+        return true;
+    }
+
+    /**
+     * Called from input handling. The sound plays right away, the jump
+     * itself happens on the next tick.
+     */
+    private void jump(int player) {
+        if (current.crashed || !current.alive[player]) {
+            return;
         }
         long id = jumpingMusic.play(0.5f);
         jumpingMusic.setPitch(id, 0.5f);
         // jumpingMusic.play();
 
-        alien.setDeltaY(BOUNCE_VELOCITY);
-        // Switch to the jump texture when the alien jumps
-        alien.setTexture(alienJumpTexture);
-        return true;
+        pendingJumps.accumulateAndGet(1 << player, (jumps, bit) -> jumps | bit);
+    }
+
+    private void applyJumps(WorldSnapshot snapshot) {
+        int jumps = pendingJumps.getAndSet(0);
+        for (int player = 0; player < playerCount; player++) {
+            if ((jumps & (1 << player)) == 0 || !alive[player]) {
+                continue;
+            }
+            AnimatedSprite alien = aliens[player];
+            if (isFirstInput) {
+                isFirstInput = false;
+            }
+
+            alien.setDeltaY(BOUNCE_VELOCITY);
+            // Switch to the jump texture when the alien jumps
+            alien.setTexture(alienJumpTexture);
+            telemetry.record(Telemetry.JUMP, player, -1, alienGame.getDifficulty(), alien.getX(), alien.getY(), 0);
+            snapshot.addEvent(WorldSnapshot.EVENT_JUMP, alien.getX() + alien.getWidth() / 2, alien.getY() + 10);
+        }
     }
 
     @Override
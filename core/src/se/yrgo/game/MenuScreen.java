@@ -8,24 +8,20 @@ import com.badlogic.gdx.utils.*;
 
 public class MenuScreen extends ScreenAdapter {
     private AlienGame alienGame;
-    private SpriteBatch batch;
-    private BitmapFont titleFont;
-    private BitmapFont optionFont;
+    private Renderer renderer;
+    private FontService fonts;
+    private CachedLayer menuLayer;
     private Rectangle easyBounds;
     private Rectangle mediumBounds;
     private Rectangle hardBounds;
+    private Rectangle endlessBounds;
+    private Rectangle playersBounds;
 
     public MenuScreen(AlienGame alienGame) {
         this.alienGame = alienGame;
-        this.batch = new SpriteBatch();
+        this.renderer = alienGame.getRenderer();
 
-        this.titleFont = new BitmapFont();
-        this.titleFont.getData().setScale(3);
-        this.titleFont.setColor(Color.WHITE);
-
-        this.optionFont = new BitmapFont();
-        this.optionFont.getData().setScale(2);
-        this.optionFont.setColor(Color.WHITE);
+        this.fonts = alienGame.getFonts();
 
         int centerX = Gdx.graphics.getWidth() / 2;
         int centerY = Gdx.graphics.getHeight() / 2;
@@ -34,27 +30,55 @@ public class MenuScreen extends ScreenAdapter {
         this.easyBounds = new Rectangle(centerX - 150, centerY + 50, 300, 60);
         this.mediumBounds = new Rectangle(centerX - 150, centerY - 30, 300, 60);
         this.hardBounds = new Rectangle(centerX - 150, centerY - 110, 300, 60);
+        this.endlessBounds = new Rectangle(centerX - 150, centerY - 190, 300, 60);
+        this.playersBounds = new Rectangle(centerX - 150, centerY - 290, 300, 60);
+
+        // nothing on the menu moves, so it is drawn once and reused
+        this.menuLayer = new CachedLayer(alienGame.getResources(), "MenuScreen", this::paintMenu);
     }
 
     @Override
-    public void render(float delta) {
-        Gdx.gl.glClearColor(0.043f, 0.078f, 0.22f, 1.0f);
-        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+    public void show() {
+        menuLayer.invalidate();
+    }
+
+    @Override
+    public void resize(int width, int height) {
+        menuLayer.invalidate();
+    }
 
-        batch.begin();
+    private void paintMenu(SpriteBatch batch) {
+        fonts.begin(batch);
         // Draw title
-        titleFont.draw(batch, "Alien Game", 0, Gdx.graphics.getHeight() - 100,
-                Gdx.graphics.getWidth(), Align.center, false);
+        fonts.draw(batch, "Alien Game", FontService.TITLE, 0, Gdx.graphics.getHeight() - 100,
+                Gdx.graphics.getWidth(), Align.center);
 
         // Draw difficulty options
-        optionFont.draw(batch, "Easy", easyBounds.x, easyBounds.y + 40,
-                easyBounds.width, Align.center, false);
-        optionFont.draw(batch, "Medium", mediumBounds.x, mediumBounds.y + 40,
-                mediumBounds.width, Align.center, false);
-        optionFont.draw(batch, "Hard", hardBounds.x, hardBounds.y + 40,
-                hardBounds.width, Align.center, false);
+        fonts.draw(batch, "Easy", FontService.MEDIUM, easyBounds.x, easyBounds.y + 40,
+                easyBounds.width, Align.center);
+        fonts.draw(batch, "Medium", FontService.MEDIUM, mediumBounds.x, mediumBounds.y + 40,
+                mediumBounds.width, Align.center);
+        fonts.draw(batch, "Hard", FontService.MEDIUM, hardBounds.x, hardBounds.y + 40,
+                hardBounds.width, Align.center);
+        fonts.draw(batch, "Endless", FontService.MEDIUM, endlessBounds.x, endlessBounds.y + 40,
+                endlessBounds.width, Align.center);
 
-        batch.end();
+        // Draw player count, clicking it cycles through 1 to MAX_PLAYERS
+        fonts.draw(batch, "Players: " + alienGame.getPlayerCount(), FontService.MEDIUM, playersBounds.x,
+                playersBounds.y + 40, playersBounds.width, Align.center);
+        fonts.end(batch);
+    }
+
+    @Override
+    public void render(float delta) {
+        Gdx.gl.glClearColor(0.043f, 0.078f, 0.22f, 1.0f);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+
+        menuLayer.refresh(renderer.getBatch());
+        renderer.begin();
+        SpriteBatch batch = renderer.flush();
+        menuLayer.draw(batch);
+        renderer.end();
 
         // Handle touch input
         if (Gdx.input.justTouched()) {
@@ -70,14 +94,18 @@ public class MenuScreen extends ScreenAdapter {
             } else if (hardBounds.contains(x, y)) {
                 alienGame.setDifficulty(Difficulty.HARD);
                 alienGame.newGame();
+            } else if (endlessBounds.contains(x, y)) {
+                alienGame.setDifficulty(Difficulty.ENDLESS);
+                alienGame.newGame();
+            } else if (playersBounds.contains(x, y)) {
+                alienGame.setPlayerCount(alienGame.getPlayerCount() % AlienGame.MAX_PLAYERS + 1);
+                menuLayer.invalidate();
             }
         }
     }
 
     @Override
     public void dispose() {
-        batch.dispose();
-        titleFont.dispose();
-        optionFont.dispose();
+        menuLayer.dispose();
     }
 }
\ No newline at end of file
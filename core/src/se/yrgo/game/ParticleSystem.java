@@ -0,0 +1,178 @@
+package se.yrgo.game;
+
+import com.badlogic.gdx.graphics.*;
+import com.badlogic.gdx.graphics.g2d.*;
+import com.badlogic.gdx.math.*;
+import com.badlogic.gdx.utils.*;
+
+/**
+ * Small particle system for jump trails, crashes and twinkling stars.
+ *
+ * All particles live in preallocated arrays with a fixed capacity, so
+ * emitting and updating never allocates. When the system is full new
+ * particles are simply dropped. Every particle uses the same texture,
+ * so they are all drawn in a single batch.
+ */
+public class ParticleSystem implements Disposable {
+    public static final int CAPACITY = 4096;
+
+    private static final int DOT_SIZE = 8;
+
+    private final float[] x = new float[CAPACITY];
+    private final float[] y = new float[CAPACITY];
+    private final float[] deltaX = new float[CAPACITY];
+    private final float[] deltaY = new float[CAPACITY];
+    private final float[] life = new float[CAPACITY];
+    private final float[] maxLife = new float[CAPACITY];
+    private final float[] size = new float[CAPACITY];
+    private final float[] red = new float[CAPACITY];
+    private final float[] green = new float[CAPACITY];
+    private final float[] blue = new float[CAPACITY];
+    private final float[] gravity = new float[CAPACITY];
+    private int count;
+    private float density = 1f;
+
+    private static final String OWNER = "ParticleSystem";
+
+    private final ResourceTracker resources;
+    private final Texture dotTexture;
+    private final TextureRegion dot;
+
+    public ParticleSystem(ResourceTracker resources) {
+        this.resources = resources;
+        // a soft white dot, tinted per particle when drawn
+        Pixmap pixmap = new Pixmap(DOT_SIZE, DOT_SIZE, Pixmap.Format.RGBA8888);
+        pixmap.setColor(Color.WHITE);
+        pixmap.fillCircle(DOT_SIZE / 2, DOT_SIZE / 2, DOT_SIZE / 2 - 1);
+        dotTexture = resources.track(OWNER, "particle dot", new Texture(pixmap),
+                DOT_SIZE * DOT_SIZE * 4);
+        dotTexture.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+        pixmap.dispose();
+        dot = new TextureRegion(dotTexture);
+    }
+
+    /**
+     * Scale the number of particles each effect emits, from 0 to 1. Every
+     * effect keeps at least one particle.
+     */
+    public void setDensity(float density) {
+        this.density = density;
+    }
+
+    private int amount(int particles) {
+        return Math.max(1, Math.round(particles * density));
+    }
+
+    /**
+     * Exhaust puffed downwards when the alien jumps.
+     */
+    public void emitJumpThrust(float x, float y) {
+        for (int i = amount(24); i > 0; i--) {
+            emit(x + MathUtils.random(-15f, 15f), y,
+                    MathUtils.random(-60f, 60f), MathUtils.random(-260f, -120f),
+                    MathUtils.random(0.25f, 0.5f), MathUtils.random(4f, 9f),
+                    0.6f, 1f, 0.4f, 0f);
+        }
+    }
+
+    /**
+     * Burst of debris when the alien hits a planet.
+     */
+    public void emitCrash(float x, float y) {
+        for (int i = amount(400); i > 0; i--) {
+            float angle = MathUtils.random(MathUtils.PI2);
+            float speed = MathUtils.random(40f, 420f);
+            emit(x, y, MathUtils.cos(angle) * speed, MathUtils.sin(angle) * speed,
+                    MathUtils.random(0.4f, 1.2f), MathUtils.random(3f, 10f),
+                    1f, MathUtils.random(0.3f, 0.8f), 0.1f, -600f);
+        }
+    }
+
+    /**
+     * A short glint at a star.
+     */
+    public void emitTwinkle(float x, float y) {
+        for (int i = amount(4); i > 0; i--) {
+            emit(x, y, MathUtils.random(-20f, 20f), MathUtils.random(-20f, 20f),
+                    MathUtils.random(0.3f, 0.6f), MathUtils.random(2f, 5f),
+                    1f, 1f, 0.85f, 0f);
+        }
+    }
+
+    private void emit(float x, float y, float deltaX, float deltaY, float life, float size,
+            float red, float green, float blue, float gravity) {
+        if (count == CAPACITY) {
+            return;
+        }
+        int i = count++;
+        this.x[i] = x;
+        this.y[i] = y;
+        this.deltaX[i] = deltaX;
+        this.deltaY[i] = deltaY;
+        this.life[i] = life;
+        this.maxLife[i] = life;
+        this.size[i] = size;
+        this.red[i] = red;
+        this.green[i] = green;
+        this.blue[i] = blue;
+        this.gravity[i] = gravity;
+    }
+
+    public void update(float deltaTime) {
+        int i = 0;
+        while (i < count) {
+            life[i] -= deltaTime;
+            if (life[i] <= 0) {
+                // move the last particle into this slot, keeps the live ones packed
+                count--;
+                copy(count, i);
+                continue;
+            }
+            deltaY[i] += gravity[i] * deltaTime;
+            x[i] += deltaX[i] * deltaTime;
+            y[i] += deltaY[i] * deltaTime;
+            i++;
+        }
+    }
+
+    private void copy(int from, int to) {
+        x[to] = x[from];
+        y[to] = y[from];
+        deltaX[to] = deltaX[from];
+        deltaY[to] = deltaY[from];
+        life[to] = life[from];
+        maxLife[to] = maxLife[from];
+        size[to] = size[from];
+        red[to] = red[from];
+        green[to] = green[from];
+        blue[to] = blue[from];
+        gravity[to] = gravity[from];
+    }
+
+    /**
+     * Draw all particles. The batch must already be started.
+     */
+    public void draw(SpriteBatch batch) {
+        float oldColor = batch.getPackedColor();
+        for (int i = 0; i < count; i++) {
+            float alpha = life[i] / maxLife[i];
+            float half = size[i] / 2;
+            batch.setPackedColor(Color.toFloatBits(red[i], green[i], blue[i], alpha));
+            batch.draw(dot, x[i] - half, y[i] - half, size[i], size[i]);
+        }
+        batch.setPackedColor(oldColor);
+    }
+
+    public void clear() {
+        count = 0;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public void dispose() {
+        resources.release(OWNER, dotTexture);
+    }
+}
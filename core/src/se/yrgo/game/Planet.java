@@ -0,0 +1,23 @@
+package se.yrgo.game;
+
+/**
+ * The kinds of planet the alien has to avoid.
+ */
+public enum Planet {
+    BLOOD_MOON("bloodMoon.png"),
+    EARTH("earth.png"),
+    JUPITER("jupiter.png"),
+    MARS("mars.png"),
+    MOON("moon.png"),
+    VENUS("venus.png");
+
+    private final String filename;
+
+    Planet(String filename) {
+        this.filename = filename;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+}
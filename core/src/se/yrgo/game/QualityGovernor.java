@@ -0,0 +1,194 @@
+package se.yrgo.game;
+
+import java.util.*;
+
+/**
+ * Lowers the graphics quality when frames take too long, and raises it again
+ * when there is time to spare.
+ *
+ * Frame times are kept in a rolling window that is checked every few frames.
+ * When the median frame gets close to the frame budget the quality steps
+ * down one level, so a single long frame such as a garbage collection or a
+ * screen being built does not count. Stepping up needs the slowest frames
+ * of the window well under budget for several checks in a row. The gap
+ * between the two thresholds keeps the level from flipping back and forth
+ * around the limit. After a change the window starts over, so the new level
+ * is judged on its own frames.
+ *
+ * Level {@link #HIGHEST} is full quality and 0 is the lowest. What each
+ * level means is read through the getters, screens apply it themselves.
+ */
+public class QualityGovernor {
+    public static final int HIGHEST = 3;
+
+    /**
+     * A change of quality level.
+     */
+    public static class Change {
+        public final float time; // seconds since the game started
+        public final int level;
+        public final float frameMillis; // the median frame that caused the change
+
+        Change(float time, int level, float frameMillis) {
+            this.time = time;
+            this.level = level;
+            this.frameMillis = frameMillis;
+        }
+    }
+
+    // indexed by level, lowest first
+    private static final float[] STAR_FRACTION = { 0.25f, 0.5f, 0.75f, 1f };
+    private static final boolean[] STAR_ANIMATION = { false, false, true, true };
+    private static final float[] EFFECTS_DENSITY = { 0.15f, 0.35f, 0.6f, 1f };
+    private static final float[] RENDER_SCALE = { 0.5f, 0.75f, 1f, 1f };
+
+    private static final int WINDOW = 60; // frames
+    private static final int CHECK_EVERY = 20; // frames
+    private static final float STEP_DOWN_LOAD = 0.9f; // of the budget, for the median frame
+    private static final float STEP_UP_LOAD = 0.5f; // for the 90th percentile
+    private static final int STEP_UP_CHECKS = 9;
+    private static final float MISSED_FRAME = 1.5f; // a frame this much over budget missed vsync
+    private static final int MAX_HISTORY = 32;
+
+    private final float[] samples = new float[WINDOW];
+    private final float[] sorted = new float[WINDOW];
+    private int sampleCount; // samples recorded since the window started over
+    private int nextSample;
+    private int quietChecks;
+    private boolean skipFrame;
+    private float budget = 1f / 60;
+    private float medianMillis;
+    private float time;
+    private int level = HIGHEST;
+    private final Change[] history = new Change[MAX_HISTORY]; // ring, the oldest at historyStart
+    private int historyStart;
+    private int historySize;
+
+    /**
+     * The frame rate the game should hold.
+     */
+    public void setTargetFrameRate(int framesPerSecond) {
+        budget = 1f / framesPerSecond;
+    }
+
+    /**
+     * Record a finished frame.
+     *
+     * @param deltaTime time since the previous frame
+     * @param workTime time spent updating and drawing the frame, without
+     *                 waiting for vsync
+     */
+    public void frame(float deltaTime, float workTime) {
+        time += deltaTime;
+        if (skipFrame) {
+            skipFrame = false;
+            return;
+        }
+
+        // With vsync the wait hides how much work there was, unless a frame
+        // was missed altogether
+        float load = deltaTime > budget * MISSED_FRAME ? Math.max(workTime, deltaTime) : workTime;
+        samples[nextSample] = load;
+        nextSample = (nextSample + 1) % WINDOW;
+        sampleCount++;
+        if (sampleCount < WINDOW || sampleCount % CHECK_EVERY != 0) {
+            return;
+        }
+
+        System.arraycopy(samples, 0, sorted, 0, WINDOW);
+        Arrays.sort(sorted);
+        float median = sorted[WINDOW / 2];
+        float slow = sorted[WINDOW * 9 / 10];
+        medianMillis = median * 1000;
+
+        if (median > budget * STEP_DOWN_LOAD) {
+            quietChecks = 0;
+            if (level > 0) {
+                setLevel(level - 1);
+            }
+        } else if (slow < budget * STEP_UP_LOAD) {
+            if (++quietChecks >= STEP_UP_CHECKS && level < HIGHEST) {
+                quietChecks = 0;
+                setLevel(level + 1);
+            }
+        } else {
+            quietChecks = 0;
+        }
+    }
+
+    /**
+     * Leave the next frame out, for frames that are known to be unusual like
+     * the first one after a screen change or after the game was minimized.
+     */
+    public void skipFrame() {
+        skipFrame = true;
+    }
+
+    /**
+     * Force a quality level, it still changes later if frame times call for it.
+     */
+    public void setLevel(int level) {
+        this.level = Math.max(0, Math.min(HIGHEST, level));
+        sampleCount = 0;
+        Change change = new Change(time, this.level, medianMillis);
+        if (historySize < MAX_HISTORY) {
+            history[(historyStart + historySize++) % MAX_HISTORY] = change;
+        } else {
+            history[historyStart] = change;
+            historyStart = (historyStart + 1) % MAX_HISTORY;
+        }
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Median frame time of the last check.
+     */
+    public float getMedianFrameMillis() {
+        return medianMillis;
+    }
+
+    /**
+     * Number of level changes kept, at most the latest 32.
+     */
+    public int getHistorySize() {
+        return historySize;
+    }
+
+    /**
+     * A level change, 0 is the oldest one kept.
+     */
+    public Change getHistory(int index) {
+        if (index < 0 || index >= historySize) {
+            throw new IndexOutOfBoundsException("Change " + index + " of " + historySize);
+        }
+        return history[(historyStart + index) % MAX_HISTORY];
+    }
+
+    /**
+     * Part of the background stars to draw, from 0 to 1.
+     */
+    public float getStarFraction() {
+        return STAR_FRACTION[level];
+    }
+
+    public boolean isStarAnimation() {
+        return STAR_ANIMATION[level];
+    }
+
+    /**
+     * Part of the particles to emit, from 0 to 1.
+     */
+    public float getEffectsDensity() {
+        return EFFECTS_DENSITY[level];
+    }
+
+    /**
+     * Resolution of the game world relative to the window, from 0 to 1.
+     */
+    public float getRenderScale() {
+        return RENDER_SCALE[level];
+    }
+}
@@ -0,0 +1,207 @@
+package se.yrgo.game;
+
+import java.util.*;
+
+import com.badlogic.gdx.*;
+import com.badlogic.gdx.graphics.*;
+import com.badlogic.gdx.graphics.g2d.*;
+import com.badlogic.gdx.math.*;
+import com.badlogic.gdx.utils.*;
+
+/**
+ * One sprite batch shared by all screens. Sprites are submitted during the
+ * frame, anything outside the screen is dropped, and the rest is sorted by
+ * layer and texture before it reaches the batch so that sprites sharing a
+ * texture end up in the same draw call.
+ *
+ * A frame looks like this:
+ *
+ * <pre>
+ * renderer.begin();
+ * renderer.draw(...);
+ * SpriteBatch batch = renderer.flush();
+ * font.draw(batch, ...);
+ * renderer.end();
+ * </pre>
+ */
+public class Renderer implements Disposable {
+    public static final int LAYER_BACKGROUND = 0;
+    public static final int LAYER_OBJECTS = 1;
+    public static final int LAYER_PLAYER = 2;
+    public static final int LAYER_UI = 3;
+
+    private static final Comparator<Submission> ORDER = (a, b) -> {
+        if (a.layer != b.layer) {
+            return Integer.compare(a.layer, b.layer);
+        }
+        return Integer.compare(a.region.getTexture().getTextureObjectHandle(),
+                b.region.getTexture().getTextureObjectHandle());
+    };
+
+    private static final String OWNER = "Renderer";
+    private static final int BATCH_SIZE = 1000;
+
+    private final ResourceTracker resources;
+    private final CountingBatch batch;
+    private final Rectangle viewport = new Rectangle();
+    private Submission[] submissions = new Submission[128];
+    private int count;
+
+    // stats for the last finished frame
+    private int drawCalls;
+    private int vertices;
+    private int sprites;
+    private int culled;
+    private int culledThisFrame;
+
+    public Renderer(ResourceTracker resources) {
+        this.resources = resources;
+        this.batch = new CountingBatch();
+        // 4 vertices of 5 floats and 6 indices per sprite
+        resources.track(OWNER, "sprite batch", batch, BATCH_SIZE * (4 * 5 * 4 + 6 * 2));
+        for (int i = 0; i < submissions.length; i++) {
+            submissions[i] = new Submission();
+        }
+    }
+
+    /**
+     * Start collecting sprites for a new frame.
+     */
+    public void begin() {
+        count = 0;
+        culledThisFrame = 0;
+        viewport.set(0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+    }
+
+    /**
+     * Submit a sprite. It is skipped if it does not touch the screen.
+     */
+    public void draw(TextureRegion region, float x, float y, float width, float height, int layer) {
+        if (x + width < viewport.x || x > viewport.x + viewport.width
+                || y + height < viewport.y || y > viewport.y + viewport.height) {
+            culledThisFrame++;
+            return;
+        }
+
+        if (count == submissions.length) {
+            Submission[] larger = Arrays.copyOf(submissions, count * 2);
+            for (int i = count; i < larger.length; i++) {
+                larger[i] = new Submission();
+            }
+            submissions = larger;
+        }
+
+        Submission submission = submissions[count++];
+        submission.region = region;
+        submission.x = x;
+        submission.y = y;
+        submission.width = width;
+        submission.height = height;
+        submission.layer = layer;
+    }
+
+    /**
+     * Sort and draw everything submitted so far. The returned batch is still
+     * open so that text can be drawn on top before {@link #end()}.
+     */
+    public SpriteBatch flush() {
+        Sort.instance().sort(submissions, ORDER, 0, count);
+
+        batch.vertices = 0;
+        batch.calls = 0;
+        batch.begin();
+        for (int i = 0; i < count; i++) {
+            Submission submission = submissions[i];
+            batch.draw(submission.region, submission.x, submission.y, submission.width, submission.height);
+            submission.region = null;
+        }
+        return batch;
+    }
+
+    /**
+     * Finish the frame and record its stats.
+     */
+    public void end() {
+        batch.end();
+        drawCalls = batch.calls;
+        vertices = batch.vertices;
+        sprites = count;
+        culled = culledThisFrame;
+    }
+
+    public SpriteBatch getBatch() {
+        return batch;
+    }
+
+    /**
+     * Number of draw calls the last frame needed.
+     */
+    public int getDrawCalls() {
+        return drawCalls;
+    }
+
+    /**
+     * Number of vertices sent to the GPU in the last frame, text included.
+     */
+    public int getVertices() {
+        return vertices;
+    }
+
+    /**
+     * Number of sprites that were drawn in the last frame.
+     */
+    public int getSprites() {
+        return sprites;
+    }
+
+    /**
+     * Number of sprites that were skipped for being off screen in the last frame.
+     */
+    public int getCulled() {
+        return culled;
+    }
+
+    @Override
+    public void dispose() {
+        resources.release(OWNER, batch);
+    }
+
+    private static class Submission {
+        TextureRegion region;
+        float x, y, width, height;
+        int layer;
+    }
+
+    /**
+     * Sprite batch that counts the vertices it is given. Text goes through the
+     * vertex array overload, sprites through the region overload. Draw calls
+     * are added up over every begin and end in the frame, since the batch
+     * resets its own count on begin.
+     */
+    private static class CountingBatch extends SpriteBatch {
+        int vertices;
+        int calls;
+
+        CountingBatch() {
+            super(BATCH_SIZE);
+        }
+
+        @Override
+        public void draw(TextureRegion region, float x, float y, float width, float height) {
+            super.draw(region, x, y, width, height);
+            vertices += 4;
+        }
+
+        @Override
+        public void draw(Texture texture, float[] spriteVertices, int offset, int count) {
+            super.draw(texture, spriteVertices, offset, count);
+            vertices += count / Batch.SPRITE_SIZE * 4;
+        }
+
+        @Override
+        public void end() {
+            super.end();
+            calls += renderCalls;
+        }
+    }
+}
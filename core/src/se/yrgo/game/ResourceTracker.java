@@ -0,0 +1,217 @@
+package se.yrgo.game;
+
+import java.util.*;
+
+import com.badlogic.gdx.*;
+import com.badlogic.gdx.audio.*;
+import com.badlogic.gdx.graphics.*;
+import com.badlogic.gdx.utils.*;
+
+/**
+ * Keeps track of every texture, sound, music, batch and frame buffer the game
+ * creates, who uses it and roughly how much native or video memory it takes.
+ *
+ * Resources are reference counted per owner (usually a screen). Files loaded
+ * by several owners are only loaded once, and a resource is disposed when its
+ * last owner releases it. Releasing something twice, or something that was
+ * never tracked, is reported as an error instead of crashing in native code,
+ * and whatever is still alive when the game closes is reported as a leak.
+ */
+public class ResourceTracker {
+    private static final String TAG = "Resources";
+
+    private static class Entry {
+        final String name;
+        final String kind;
+        final long bytes;
+        final List<String> owners = new ArrayList<>();
+
+        Entry(String name, String kind, long bytes) {
+            this.name = name;
+            this.kind = kind;
+            this.bytes = bytes;
+        }
+    }
+
+    private final Map<Disposable, Entry> entries = new IdentityHashMap<>();
+    private final Map<String, Disposable> loadedFiles = new HashMap<>();
+    private int doubleDisposes;
+    private TextureLoader loader;
+
+    /**
+     * Take textures from the loader when it has them queued, instead of
+     * loading them on the spot.
+     */
+    public void setLoader(TextureLoader loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * Load a texture, or share it if another owner already loaded the same file.
+     */
+    public Texture loadTexture(String owner, String filename, boolean mipMaps) {
+        String key = textureKey(filename, mipMaps);
+        Texture texture = (Texture) loadedFiles.get(key);
+        if (texture == null) {
+            if (loader != null) {
+                texture = loader.finish(filename, mipMaps);
+            }
+            if (texture == null) {
+                texture = new Texture(Gdx.files.internal(filename), mipMaps);
+            }
+            loadedFiles.put(key, texture);
+            track(owner, key, texture, textureBytes(texture, mipMaps));
+        } else {
+            retain(owner, texture);
+        }
+        return texture;
+    }
+
+    public Sound loadSound(String owner, String filename) {
+        Sound sound = (Sound) loadedFiles.get(filename);
+        if (sound == null) {
+            sound = Gdx.audio.newSound(Gdx.files.internal(filename));
+            loadedFiles.put(filename, sound);
+            track(owner, filename, sound, Gdx.files.internal(filename).length());
+        } else {
+            retain(owner, sound);
+        }
+        return sound;
+    }
+
+    public Music loadMusic(String owner, String filename) {
+        Music music = (Music) loadedFiles.get(filename);
+        if (music == null) {
+            music = Gdx.audio.newMusic(Gdx.files.internal(filename));
+            loadedFiles.put(filename, music);
+            // music is streamed, only a few small buffers are kept in memory
+            track(owner, filename, music, 0);
+        } else {
+            retain(owner, music);
+        }
+        return music;
+    }
+
+    /**
+     * Start tracking a resource that was created elsewhere.
+     */
+    public <T extends Disposable> T track(String owner, String name, T resource, long bytes) {
+        Entry entry = new Entry(name, resource.getClass().getSimpleName(), bytes);
+        entry.owners.add(owner);
+        entries.put(resource, entry);
+        return resource;
+    }
+
+    /**
+     * Add another owner to a tracked resource.
+     */
+    public void retain(String owner, Disposable resource) {
+        Entry entry = entries.get(resource);
+        if (entry == null) {
+            Gdx.app.error(TAG, owner + " retained an untracked or disposed " + resource.getClass().getSimpleName());
+            return;
+        }
+        entry.owners.add(owner);
+    }
+
+    /**
+     * Remove an owner from a resource, and dispose it if nobody else uses it.
+     */
+    public void release(String owner, Disposable resource) {
+        Entry entry = entries.get(resource);
+        if (entry == null || !entry.owners.remove(owner)) {
+            doubleDisposes++;
+            Gdx.app.error(TAG, owner + " released " + resource.getClass().getSimpleName()
+                    + " it does not hold, double dispose?");
+            return;
+        }
+        if (entry.owners.isEmpty()) {
+            entries.remove(resource);
+            loadedFiles.values().remove(resource);
+            resource.dispose();
+        }
+    }
+
+    /**
+     * Release everything the owner holds, typically when a screen is disposed.
+     */
+    public void releaseAll(String owner) {
+        List<Disposable> held = new ArrayList<>();
+        for (Map.Entry<Disposable, Entry> e : entries.entrySet()) {
+            for (String o : e.getValue().owners) {
+                if (o.equals(owner)) {
+                    held.add(e.getKey());
+                }
+            }
+        }
+        for (Disposable resource : held) {
+            release(owner, resource);
+        }
+    }
+
+    /**
+     * Estimated bytes of video and native memory held by tracked resources.
+     */
+    public long getTotalBytes() {
+        long total = 0;
+        for (Entry entry : entries.values()) {
+            total += entry.bytes;
+        }
+        return total;
+    }
+
+    public int getLiveCount() {
+        return entries.size();
+    }
+
+    public int getDoubleDisposes() {
+        return doubleDisposes;
+    }
+
+    /**
+     * Log memory use per owner. Shared resources are counted for every owner.
+     */
+    public void logUsage() {
+        Map<String, long[]> perOwner = new TreeMap<>();
+        for (Entry entry : entries.values()) {
+            for (String owner : entry.owners) {
+                long[] usage = perOwner.computeIfAbsent(owner, o -> new long[2]);
+                usage[0]++;
+                usage[1] += entry.bytes;
+            }
+        }
+        perOwner.forEach((owner, usage) -> Gdx.app.log(TAG,
+                owner + ": " + usage[0] + " resources, " + usage[1] / 1024 + " KiB"));
+        Gdx.app.log(TAG, "Total: " + entries.size() + " resources, " + getTotalBytes() / 1024 + " KiB");
+    }
+
+    /**
+     * Report every resource that is still alive. Call when the game closes.
+     *
+     * @return the number of leaked resources
+     */
+    public int reportLeaks() {
+        for (Entry entry : entries.values()) {
+            Gdx.app.error(TAG, "Leaked " + entry.kind + " " + entry.name + " held by " + entry.owners);
+        }
+        if (doubleDisposes > 0) {
+            Gdx.app.error(TAG, doubleDisposes + " double disposes");
+        }
+        return entries.size();
+    }
+
+    /**
+     * Textures with and without mipmaps are different resources.
+     */
+    static String textureKey(String filename, boolean mipMaps) {
+        return filename + (mipMaps ? "#mipmaps" : "");
+    }
+
+    /**
+     * Video memory used by a texture, assuming 4 bytes per pixel.
+     */
+    public static long textureBytes(Texture texture, boolean mipMaps) {
+        long bytes = (long) texture.getWidth() * texture.getHeight() * 4;
+        return mipMaps ? bytes * 4 / 3 : bytes;
+    }
+}
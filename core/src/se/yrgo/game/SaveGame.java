@@ -0,0 +1,154 @@
+package se.yrgo.game;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.zip.*;
+
+import com.badlogic.gdx.Gdx;
+
+/**
+ * Keeps a run that was interrupted, so it can continue on the next launch.
+ *
+ * The run is written into one preallocated buffer and from there to a small
+ * binary file, so saving does not allocate more than opening the file does.
+ * The file is only used once: loading deletes it.
+ *
+ * File layout (little endian):
+ *
+ * <pre>
+ * int   {@link #MAGIC}
+ * short {@link #VERSION}
+ * ...   the run, written by {@link GameScreen}
+ * int   CRC32 of everything before it
+ * </pre>
+ *
+ * Files with another version, or that are damaged, are ignored. A save game
+ * without a file keeps nothing.
+ */
+public class SaveGame {
+    public static final int MAGIC = 0x414c5356; // "ALSV"
+    public static final short VERSION = 2;
+
+    private static final String TAG = "SaveGame";
+    private static final int CAPACITY = 8192;
+
+    /**
+     * Writes the run into the buffer.
+     */
+    public interface Writer {
+        void write(ByteBuffer buffer);
+    }
+
+    private final Path file;
+    private final Path temporary;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(CAPACITY).order(ByteOrder.LITTLE_ENDIAN);
+    private final CRC32 crc = new CRC32();
+
+    /**
+     * @param file where the run is kept, or null to never save anything
+     */
+    public SaveGame(Path file) {
+        this.file = file;
+        this.temporary = file == null ? null : file.resolveSibling(file.getFileName() + ".tmp");
+    }
+
+    public boolean exists() {
+        return file != null && Files.exists(file);
+    }
+
+    /**
+     * Save the run, replacing any earlier save.
+     */
+    public void save(Writer writer) {
+        if (file == null) {
+            return;
+        }
+        buffer.clear();
+        buffer.putInt(MAGIC);
+        buffer.putShort(VERSION);
+        writer.write(buffer);
+
+        crc.reset();
+        buffer.flip();
+        crc.update(buffer);
+        buffer.limit(buffer.capacity());
+        buffer.putInt((int) crc.getValue());
+        buffer.flip();
+
+        // write next to the old save and swap, so a crash never leaves half a file
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            Gdx.app.error(TAG, "Could not save the run", e);
+            return;
+        }
+        try {
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Gdx.app.error(TAG, "Could not save the run", e);
+        }
+    }
+
+    /**
+     * Read the saved run and delete the file.
+     *
+     * @return the run, positioned after the header, or null if there is no
+     *         usable save
+     */
+    public ByteBuffer load() {
+        if (!exists()) {
+            return null;
+        }
+        buffer.clear();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (channel.read(buffer) > 0) {
+                // read it all, the file is never bigger than the buffer
+            }
+        } catch (IOException e) {
+            Gdx.app.error(TAG, "Could not read the saved run", e);
+            return null;
+        } finally {
+            delete();
+        }
+        buffer.flip();
+
+        int length = buffer.remaining() - 4;
+        if (length < 6 || buffer.getInt() != MAGIC) {
+            Gdx.app.error(TAG, "Saved run is damaged, ignoring it");
+            return null;
+        }
+        short version = buffer.getShort();
+        if (version != VERSION) {
+            Gdx.app.log(TAG, "Saved run has version " + version + ", ignoring it");
+            return null;
+        }
+
+        crc.reset();
+        buffer.position(0).limit(length);
+        crc.update(buffer);
+        buffer.limit(length + 4);
+        if (buffer.getInt(length) != (int) crc.getValue()) {
+            Gdx.app.error(TAG, "Saved run is damaged, ignoring it");
+            return null;
+        }
+
+        buffer.position(6).limit(length);
+        return buffer;
+    }
+
+    public void delete() {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            Gdx.app.error(TAG, "Could not delete the saved run", e);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package se.yrgo.game;
+
+import java.util.concurrent.locks.*;
+
+import com.badlogic.gdx.utils.*;
+
+/**
+ * Runs a world simulation on its own thread at a fixed tick rate.
+ *
+ * After every tick the world is written into a back buffer snapshot which
+ * is then swapped with the published one. A published snapshot is never
+ * written to again until the next swap, and the render thread copies it out
+ * under the same lock, so neither side ever sees a half written tick. If the
+ * render thread misses a tick, the events of that tick are carried over to
+ * the next one so no jump or crash goes unseen.
+ */
+public class SimulationThread {
+    /**
+     * The simulation, called on the simulation thread only.
+     */
+    public interface World {
+        /**
+         * Advance the world and write the new state into the snapshot.
+         */
+        void tick(float deltaTime, WorldSnapshot snapshot);
+    }
+
+    // after a long stall, skip ahead instead of running a burst of ticks
+    private static final int MAX_CATCH_UP_TICKS = 5;
+
+    private final World world;
+    private final float tickSeconds;
+    private final long tickNanos;
+    private final Object lock = new Object();
+    private WorldSnapshot back; // only touched by the simulation thread
+    private WorldSnapshot published; // guarded by lock
+    private boolean consumed; // guarded by lock
+    private volatile boolean running;
+    private volatile Throwable failure;
+    private Thread thread;
+
+    public SimulationThread(World world, int ticksPerSecond, int starCount) {
+        this.world = world;
+        this.tickSeconds = 1f / ticksPerSecond;
+        this.tickNanos = 1_000_000_000L / ticksPerSecond;
+        this.back = new WorldSnapshot(starCount);
+        this.published = new WorldSnapshot(starCount);
+    }
+
+    /**
+     * Publish the current state of the world and start ticking.
+     */
+    public void start() {
+        world.tick(0, published);
+        published.tick = 0;
+        published.nanos = System.nanoTime();
+        consumed = false;
+        failure = null;
+
+        running = true;
+        thread = new Thread(this::run, "simulation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stop ticking and wait for the current tick to finish.
+     */
+    public void stop() {
+        if (thread == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+    public boolean isRunning() {
+        return thread != null;
+    }
+
+    public long getTickNanos() {
+        return tickNanos;
+    }
+
+    /**
+     * Copy the latest tick into the snapshot, unless it has already been
+     * taken. Call from the render thread.
+     *
+     * @return true if there was a new tick
+     */
+    public boolean poll(WorldSnapshot snapshot) {
+        if (failure != null) {
+            throw new GdxRuntimeException("Simulation thread failed", failure);
+        }
+        synchronized (lock) {
+            if (consumed) {
+                return false;
+            }
+            snapshot.copyFrom(published);
+            consumed = true;
+            return true;
+        }
+    }
+
+    private void run() {
+        long tick = published.tick;
+        long next = System.nanoTime() + tickNanos;
+        try {
+            while (running) {
+                long wait = next - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                    continue; // woken early, or by stop()
+                }
+                if (-wait > MAX_CATCH_UP_TICKS * tickNanos) {
+                    next = System.nanoTime();
+                }
+                next += tickNanos;
+
+                world.tick(tickSeconds, back);
+                back.tick = ++tick;
+                back.nanos = System.nanoTime();
+
+                synchronized (lock) {
+                    if (!consumed) {
+                        back.appendEvents(published);
+                    }
+                    WorldSnapshot swap = published;
+                    published = back;
+                    back = swap;
+                    consumed = false;
+                }
+            }
+        } catch (Throwable t) {
+            // rethrown on the render thread by the next poll
+            failure = t;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package se.yrgo.game;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.concurrent.atomic.*;
+import java.util.concurrent.locks.*;
+
+/**
+ * Records gameplay events for balancing.
+ *
+ * Every event is a fixed-size binary record. The game thread writes records
+ * into a ring buffer without locking or allocating, and a background thread
+ * drains the ring in batches into log files that are rotated when they grow
+ * too big. If the writer falls behind and the ring fills up, new events are
+ * dropped rather than stalling the game. Use {@link TelemetryReader} to
+ * aggregate the files.
+ *
+ * Record layout (little endian, {@link #RECORD_SIZE} bytes):
+ *
+ * <pre>
+ * long  wall clock time in milliseconds
+ * byte  event type
+ * byte  player
+ * byte  planet kind, or -1
+ * byte  difficulty ordinal
+ * float x
+ * float y
+ * int   value, meaning depends on the event type
+ * </pre>
+ */
+public class Telemetry implements Closeable {
+    public static final int MAGIC = 0x414c544d; // "ALTM"
+    public static final short VERSION = 1;
+    public static final int HEADER_SIZE = 8;
+    public static final int RECORD_SIZE = 24;
+
+    /** Run started, value is the number of players. */
+    public static final byte RUN_START = 0;
+    /** Planet spawned at x, y. */
+    public static final byte SPAWN = 1;
+    /** Player jumped from x, y. */
+    public static final byte JUMP = 2;
+    /** Player scored, value is the new score. */
+    public static final byte SCORE = 3;
+    /** Player hit a planet at x, y, value is the run length in milliseconds. */
+    public static final byte DEATH = 4;
+
+    private static final int CAPACITY = 4096; // records, must be a power of two
+    private static final int MAX_FILE_BYTES = 1 << 20;
+    private static final long IDLE_WAIT_NANOS = 50_000_000L;
+
+    private final ByteBuffer ring = ByteBuffer.allocate(CAPACITY * RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private final AtomicLong head = new AtomicLong(); // next record the game writes
+    private final AtomicLong tail = new AtomicLong(); // next record the writer reads
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final Path directory;
+    private final String sessionName;
+    private final ByteBuffer batch = ByteBuffer.allocateDirect(CAPACITY * RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private final Thread writer;
+    private volatile boolean running = true;
+    private FileChannel channel;
+    private int fileIndex;
+
+    /**
+     * Start logging into the given directory.
+     *
+     * @param directory where the logs go, or null to throw all events away
+     */
+    public Telemetry(Path directory) {
+        this.directory = directory;
+        this.sessionName = "telemetry-" + System.currentTimeMillis();
+        if (directory == null) {
+            this.writer = null;
+            return;
+        }
+        this.writer = new Thread(this::writeLoop, "telemetry-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Add an event. Only call this from the thread running the game world,
+     * one thread at a time.
+     */
+    public void record(byte type, int player, int planet, Difficulty difficulty, float x, float y, int value) {
+        if (writer == null) {
+            return;
+        }
+        long h = head.get();
+        if (h - tail.get() == CAPACITY) {
+            dropped.incrementAndGet();
+            return;
+        }
+
+        int offset = (int) (h & (CAPACITY - 1)) * RECORD_SIZE;
+        ring.putLong(offset, System.currentTimeMillis());
+        ring.put(offset + 8, type);
+        ring.put(offset + 9, (byte) player);
+        ring.put(offset + 10, (byte) planet);
+        ring.put(offset + 11, (byte) difficulty.ordinal());
+        ring.putFloat(offset + 12, x);
+        ring.putFloat(offset + 16, y);
+        ring.putInt(offset + 20, value);
+
+        // publishes the record to the writer thread
+        head.lazySet(h + 1);
+    }
+
+    /**
+     * Number of events lost because the ring buffer was full.
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    private void writeLoop() {
+        try {
+            while (running) {
+                if (drain() == 0) {
+                    LockSupport.parkNanos(IDLE_WAIT_NANOS);
+                }
+            }
+            drain();
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException e) {
+            // telemetry must never take the game down, just stop logging
+            running = false;
+        }
+    }
+
+    /**
+     * Copy everything currently in the ring to the log in one write.
+     */
+    private int drain() throws IOException {
+        long t = tail.get();
+        long h = head.get();
+        int count = (int) (h - t);
+        if (count == 0) {
+            return 0;
+        }
+
+        batch.clear();
+        for (long i = t; i < h; i++) {
+            int offset = (int) (i & (CAPACITY - 1)) * RECORD_SIZE;
+            batch.put(ring.array(), offset, RECORD_SIZE);
+        }
+        tail.lazySet(h);
+        batch.flip();
+
+        if (channel == null || channel.size() + batch.remaining() > MAX_FILE_BYTES) {
+            rotate();
+        }
+        while (batch.hasRemaining()) {
+            channel.write(batch);
+        }
+        return count;
+    }
+
+    private void rotate() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+        Files.createDirectories(directory);
+        // padded so the files of a session also sort by name
+        Path file = directory.resolve(String.format("%s-%04d.bin", sessionName, fileIndex++));
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putShort(VERSION).putShort((short) RECORD_SIZE).flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+    }
+
+    /**
+     * Write what is left in the ring and stop the writer thread.
+     */
+    @Override
+    public void close() {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package se.yrgo.game;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Offline summary of the log files written by {@link Telemetry}.
+ *
+ * Run with the telemetry directory as argument, or through
+ * {@code ./gradlew telemetryReport}.
+ */
+public class TelemetryReader {
+    private static final int HEIGHT_BUCKET = 100;
+
+    private int runs;
+    private int jumps;
+    private int spawns;
+    private int skipped;
+    private final int[] deathsPerPlanet = new int[Planet.values().length];
+    private final Map<Integer, Integer> deathsPerHeight = new TreeMap<>();
+    private final Map<Difficulty, List<Integer>> runLengths = new EnumMap<>(Difficulty.class);
+    private final Map<Difficulty, List<Integer>> scores = new EnumMap<>(Difficulty.class);
+    private final int[] lastScore = new int[AlienGame.MAX_PLAYERS];
+
+    public static void main(String[] args) throws IOException {
+        Path directory = Paths.get(args.length > 0 ? args[0] : "telemetry");
+        TelemetryReader reader = new TelemetryReader();
+
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "telemetry-*.bin")) {
+            stream.forEach(files::add);
+        }
+        // by session, then by file within it, logs from before the index was padded included
+        files.sort(Comparator.comparingLong((Path file) -> fileNumber(file, 1))
+                .thenComparingLong(file -> fileNumber(file, 2)));
+        for (Path file : files) {
+            reader.read(file);
+        }
+        reader.print(files.size());
+    }
+
+    /**
+     * A number from a name like telemetry-1700000000000-0001.bin, or -1.
+     */
+    private static long fileNumber(Path file, int part) {
+        String name = file.getFileName().toString();
+        String[] parts = name.substring(0, name.length() - ".bin".length()).split("-");
+        try {
+            return part < parts.length ? Long.parseLong(parts[part]) : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void read(Path file) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        if (buffer.remaining() < Telemetry.HEADER_SIZE || buffer.getInt() != Telemetry.MAGIC) {
+            System.err.println("Skipping " + file + ", not a telemetry log");
+            return;
+        }
+        short version = buffer.getShort();
+        int recordSize = buffer.getShort();
+        if (version != Telemetry.VERSION) {
+            System.err.println("Skipping " + file + ", unknown version " + version);
+            return;
+        }
+
+        Difficulty[] difficulties = Difficulty.values();
+        while (buffer.remaining() >= recordSize) {
+            int start = buffer.position();
+            buffer.getLong(); // time
+            byte type = buffer.get();
+            int player = buffer.get();
+            int planet = buffer.get();
+            int difficulty = buffer.get();
+            buffer.getFloat(); // x
+            float y = buffer.getFloat();
+            int value = buffer.getInt();
+            buffer.position(start + recordSize);
+
+            // written by a version of the game with other difficulties or more players
+            if (difficulty < 0 || difficulty >= difficulties.length || player < 0
+                    || player >= lastScore.length) {
+                skipped++;
+                continue;
+            }
+
+            switch (type) {
+                case Telemetry.RUN_START:
+                    runs++;
+                    Arrays.fill(lastScore, 0);
+                    break;
+                case Telemetry.SPAWN:
+                    spawns++;
+                    break;
+                case Telemetry.JUMP:
+                    jumps++;
+                    break;
+                case Telemetry.SCORE:
+                    lastScore[player] = value;
+                    break;
+                case Telemetry.DEATH:
+                    if (planet >= 0 && planet < deathsPerPlanet.length) {
+                        deathsPerPlanet[planet]++;
+                    }
+                    deathsPerHeight.merge((int) y / HEIGHT_BUCKET * HEIGHT_BUCKET, 1, Integer::sum);
+                    runLengths.computeIfAbsent(difficulties[difficulty], d -> new ArrayList<>()).add(value);
+                    scores.computeIfAbsent(difficulties[difficulty], d -> new ArrayList<>()).add(lastScore[player]);
+                    break;
+            }
+        }
+    }
+
+    private void print(int fileCount) {
+        System.out.println(fileCount + " files, " + runs + " runs, " + spawns + " planets spawned, "
+                + jumps + " jumps");
+        if (skipped > 0) {
+            System.out.println(skipped + " records with an unknown difficulty or player skipped");
+        }
+
+        System.out.println();
+        System.out.println("Deaths per planet:");
+        for (Planet planet : Planet.values()) {
+            System.out.printf("  %-10s %d%n", planet, deathsPerPlanet[planet.ordinal()]);
+        }
+
+        System.out.println();
+        System.out.println("Deaths per height:");
+        deathsPerHeight.forEach((height, count) -> System.out.printf("  %4d-%-4d %d%n", height,
+                height + HEIGHT_BUCKET - 1, count));
+
+        System.out.println();
+        System.out.println("Per difficulty:");
+        for (Difficulty difficulty : Difficulty.values()) {
+            List<Integer> lengths = runLengths.getOrDefault(difficulty, Collections.emptyList());
+            if (lengths.isEmpty()) {
+                continue;
+            }
+            System.out.printf("  %-7s %d deaths, median run %.1f s, median score %d%n", difficulty,
+                    lengths.size(), median(lengths) / 1000f, median(scores.get(difficulty)));
+        }
+    }
+
+    private static int median(List<Integer> values) {
+        List<Integer> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        return sorted.get(sorted.size() / 2);
+    }
+}
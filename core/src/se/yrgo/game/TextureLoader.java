@@ -0,0 +1,211 @@
+package se.yrgo.game;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+import com.badlogic.gdx.*;
+import com.badlogic.gdx.files.*;
+import com.badlogic.gdx.graphics.*;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * Loads textures ahead of time without stalling the render thread.
+ *
+ * Queued images are decoded into pixmaps on a pool of background threads.
+ * Decoded images are uploaded to the GPU from {@link #update()}, which the
+ * render thread calls once per frame and which stops uploading when the
+ * frame's time budget is spent. Uploaded textures wait here until
+ * {@link ResourceTracker#loadTexture} asks for them; asking for one that is
+ * not ready yet finishes it right away.
+ */
+public class TextureLoader implements Disposable {
+    private static final String TAG = "TextureLoader";
+
+    private static class Pending {
+        final String key;
+        final FileHandle file;
+        final boolean mipMaps;
+        volatile TextureData data;
+        volatile Throwable failure;
+        Future<?> future;
+        Texture texture;
+
+        Pending(String key, FileHandle file, boolean mipMaps) {
+            this.key = key;
+            this.file = file;
+            this.mipMaps = mipMaps;
+        }
+    }
+
+    private final ExecutorService decoders;
+    private final Map<String, Pending> pending = new HashMap<>(); // render thread only
+    private final Queue<Pending> decoded = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger decoding = new AtomicInteger();
+    private long budgetNanos = 2_000_000L;
+
+    private int uploads;
+    private long uploadNanos;
+    private long maxUploadNanos;
+    private long lastFrameNanos;
+
+    public TextureLoader(int threads) {
+        decoders = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "texture-decoder");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Maximum time spent uploading textures in one frame. At least one
+     * texture is uploaded per frame however big it is.
+     */
+    public void setUploadBudget(float millis) {
+        budgetNanos = (long) (millis * 1_000_000);
+    }
+
+    /**
+     * Start decoding an image in the background, unless it already is.
+     */
+    public void queue(String filename, boolean mipMaps) {
+        String key = ResourceTracker.textureKey(filename, mipMaps);
+        if (pending.containsKey(key)) {
+            return;
+        }
+        Pending p = new Pending(key, Gdx.files.internal(filename), mipMaps);
+        pending.put(key, p);
+        decoding.incrementAndGet();
+        p.future = decoders.submit(() -> decode(p));
+    }
+
+    private void decode(Pending p) {
+        try {
+            TextureData data = TextureData.Factory.loadFromFile(p.file, p.mipMaps);
+            if (!data.isPrepared()) {
+                data.prepare();
+            }
+            p.data = data;
+        } catch (Throwable t) {
+            p.failure = t;
+        }
+        decoding.decrementAndGet();
+        decoded.add(p);
+    }
+
+    /**
+     * Upload decoded images until the budget for this frame is spent. Call
+     * once per frame from the render thread.
+     */
+    public void update() {
+        long start = System.nanoTime();
+        boolean uploaded = false;
+        Pending p;
+        while ((p = decoded.peek()) != null) {
+            // skip images that were finished early through finish()
+            if (pending.get(p.key) == p && p.texture == null) {
+                if (uploaded && System.nanoTime() - start >= budgetNanos) {
+                    break;
+                }
+                upload(p);
+                uploaded = true;
+            }
+            decoded.poll();
+        }
+        lastFrameNanos = System.nanoTime() - start;
+    }
+
+    private void upload(Pending p) {
+        if (p.failure != null) {
+            // the tracker loads it again synchronously and reports the real error
+            Gdx.app.error(TAG, "Could not decode " + p.file + ": " + p.failure);
+            pending.remove(p.key);
+            return;
+        }
+        long start = System.nanoTime();
+        p.texture = new Texture(p.data);
+        long nanos = System.nanoTime() - start;
+        uploads++;
+        uploadNanos += nanos;
+        maxUploadNanos = Math.max(maxUploadNanos, nanos);
+    }
+
+    /**
+     * Hand over a queued texture, waiting for it to be decoded and uploading
+     * it if needed. The caller owns the texture from now on.
+     *
+     * @return the texture, or null if it was not queued or could not be
+     *         decoded
+     */
+    public Texture finish(String filename, boolean mipMaps) {
+        Pending p = pending.remove(ResourceTracker.textureKey(filename, mipMaps));
+        if (p == null) {
+            return null;
+        }
+        if (p.texture == null) {
+            try {
+                p.future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } catch (ExecutionException e) {
+                return null;
+            }
+            upload(p);
+        }
+        return p.texture;
+    }
+
+    /**
+     * Images waiting to be decoded.
+     */
+    public int getQueueDepth() {
+        return decoding.get();
+    }
+
+    /**
+     * Images decoded and waiting to be uploaded.
+     */
+    public int getDecodedCount() {
+        return decoded.size();
+    }
+
+    public int getUploadCount() {
+        return uploads;
+    }
+
+    public float getAverageUploadMillis() {
+        return uploads == 0 ? 0 : uploadNanos / (float) uploads / 1_000_000f;
+    }
+
+    public float getMaxUploadMillis() {
+        return maxUploadNanos / 1_000_000f;
+    }
+
+    /**
+     * Time spent in the last {@link #update()}.
+     */
+    public float getLastFrameMillis() {
+        return lastFrameNanos / 1_000_000f;
+    }
+
+    @Override
+    public void dispose() {
+        decoders.shutdownNow();
+        try {
+            decoders.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // nobody asked for these, so they are still ours
+        for (Pending p : pending.values()) {
+            if (p.texture != null) {
+                p.texture.dispose();
+            } else if (p.data != null && p.data.isPrepared()) {
+                p.data.consumePixmap().dispose();
+            }
+        }
+        pending.clear();
+        decoded.clear();
+    }
+}
@@ -0,0 +1,211 @@
+package se.yrgo.game;
+
+import java.util.concurrent.atomic.*;
+import java.util.concurrent.locks.*;
+
+import com.badlogic.gdx.math.*;
+import com.badlogic.gdx.utils.*;
+
+/**
+ * Works out the coming waves of planets on a background thread.
+ *
+ * The generator follows a {@link DifficultyCurve} a few seconds ahead of
+ * the run and puts finished waves in a ring buffer, so spawning a wave in
+ * the game is only a matter of taking the next one out. Wave number n is
+ * always the same for the same seed, so a run can be saved as the seed and
+ * the number of the next wave, see {@link #getNextIndex()}.
+ *
+ * Waves are taken by the thread running the game world only. If the
+ * generator fails, the failure is thrown from {@link #peek()}.
+ */
+public class WaveGenerator {
+    public static final int MAX_WAVE_SIZE = 8;
+
+    private static final int CAPACITY = 64; // waves, must be a power of two
+    private static final float LOOKAHEAD = 5f; // seconds of waves to keep ready
+
+    /**
+     * A group of planets spawned at the same time.
+     */
+    public static class Wave {
+        long index;
+        float time; // when the wave is due, in seconds into the run
+        public float delay; // seconds after the previous wave
+        public float speed;
+        public int maxPlanets; // wait with the wave until all its planets fit under this many
+        public float x;
+        public float y; // where the formation is placed
+        public int count;
+        public final int[] kind = new int[MAX_WAVE_SIZE];
+        public final float[] offsetX = new float[MAX_WAVE_SIZE];
+        public final float[] planetY = new float[MAX_WAVE_SIZE];
+    }
+
+    private final Wave[] ring = new Wave[CAPACITY];
+    private final AtomicLong head = new AtomicLong(); // next wave the generator writes
+    private final AtomicLong tail = new AtomicLong(); // next wave the game takes
+    private final RandomXS128 random = new RandomXS128();
+    private final int planetKinds;
+    private final float planetHeight;
+
+    private DifficultyCurve curve;
+    private long seed;
+    private int width;
+    private int height;
+    private volatile float runTime; // time of the last wave taken
+    private long nextIndex; // the next wave to take, or to generate while stopped
+    private float nextTime;
+    private volatile boolean running;
+    private volatile Throwable failure;
+    private volatile Thread thread;
+
+    /**
+     * @param planetKinds number of planet textures to pick from
+     * @param planetHeight room kept free above a wave at the top of the screen
+     */
+    public WaveGenerator(int planetKinds, float planetHeight) {
+        this.planetKinds = planetKinds;
+        this.planetHeight = planetHeight;
+        for (int i = 0; i < CAPACITY; i++) {
+            ring[i] = new Wave();
+        }
+    }
+
+    /**
+     * Start generating waves from the given wave on.
+     *
+     * @param index the first wave, 0 for a new run
+     * @param time when the wave before it was due, 0 for a new run
+     */
+    public void start(DifficultyCurve curve, long seed, long index, float time, int width, int height) {
+        stop();
+        this.curve = curve;
+        this.seed = seed;
+        this.width = width;
+        this.height = height;
+        this.nextIndex = index;
+        this.nextTime = time;
+        this.runTime = time;
+        head.set(0);
+        tail.set(0);
+        failure = null;
+
+        running = true;
+        thread = new Thread(() -> run(index, time), "wave-generator");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void stop() {
+        if (thread == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+    private void run(long index, float time) {
+        try {
+            while (running) {
+                long h = head.get();
+                boolean ahead = h > tail.get() && time - runTime > LOOKAHEAD;
+                if (h - tail.get() == CAPACITY || ahead) {
+                    // woken by remove() or stop(), nothing changes until then
+                    LockSupport.park(this);
+                    continue;
+                }
+
+                Wave wave = ring[(int) (h & (CAPACITY - 1))];
+                generate(wave, index++, time);
+                time = wave.time;
+                // publishes the wave to the game
+                head.lazySet(h + 1);
+            }
+        } catch (Throwable t) {
+            // rethrown to the game by the next peek
+            failure = t;
+        }
+    }
+
+    private void generate(Wave wave, long index, float previousTime) {
+        // every wave gets its own sequence, so it does not depend on how far ahead we are
+        random.setSeed(seed ^ (index * 0x9E3779B97F4A7C15L));
+
+        wave.index = index;
+        wave.delay = curve.getInterval(previousTime);
+        wave.time = previousTime + wave.delay;
+        wave.speed = curve.getSpeed(wave.time);
+        wave.maxPlanets = curve.getMaxPlanets(wave.time);
+        wave.x = width - 10 + random.nextInt(10);
+        wave.y = random.nextFloat() * (height - planetHeight);
+
+        float[][] formation = curve.pickFormation(wave.time, random.nextFloat());
+        wave.count = formation.length;
+        for (int i = 0; i < formation.length; i++) {
+            wave.kind[i] = random.nextInt(planetKinds);
+            wave.offsetX[i] = formation[i][0];
+            wave.planetY[i] = formation[i][1];
+        }
+    }
+
+    /**
+     * The next wave, or null if the generator has not caught up. The wave
+     * stays valid until {@link #remove()}.
+     *
+     * @throws GdxRuntimeException if the generator thread failed
+     */
+    public Wave peek() {
+        if (failure != null) {
+            throw new GdxRuntimeException("Wave generator failed", failure);
+        }
+        long t = tail.get();
+        if (t == head.get()) {
+            return null;
+        }
+        return ring[(int) (t & (CAPACITY - 1))];
+    }
+
+    /**
+     * Take the wave returned by {@link #peek()} out of the buffer.
+     */
+    public void remove() {
+        long t = tail.get();
+        Wave wave = ring[(int) (t & (CAPACITY - 1))];
+        nextIndex = wave.index + 1;
+        nextTime = wave.time;
+        runTime = wave.time;
+        tail.lazySet(t + 1);
+        LockSupport.unpark(thread);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * The wave to start from when the run continues.
+     */
+    public long getNextIndex() {
+        return nextIndex;
+    }
+
+    /**
+     * When the wave before {@link #getNextIndex()} was due.
+     */
+    public float getNextTime() {
+        return nextTime;
+    }
+
+    /**
+     * Waves ready to be taken.
+     */
+    public int getQueued() {
+        return (int) (head.get() - tail.get());
+    }
+}
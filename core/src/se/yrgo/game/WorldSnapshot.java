@@ -0,0 +1,119 @@
+package se.yrgo.game;
+
+/**
+ * The state of the game world after one simulation tick, everything the
+ * game screen needs to draw a frame.
+ *
+ * Snapshots are filled by whoever runs the simulation and only read by the
+ * render thread. Events are things that happened during the tick and only
+ * need to be shown once, like a jump or a crash; they become particles on
+ * the render thread.
+ */
+public class WorldSnapshot {
+    public static final int MAX_PLANETS = 64;
+    public static final int MAX_EVENTS = 64;
+
+    public static final int EVENT_JUMP = 0;
+    public static final int EVENT_CRASH = 1;
+    public static final int EVENT_TWINKLE = 2;
+
+    // Which texture an alien shows
+    public static final int ALIEN_FALLING = 0;
+    public static final int ALIEN_NEUTRAL = 1;
+    public static final int ALIEN_JUMPING = 2;
+
+    long tick = -1; // -1 until the snapshot has been filled
+    long nanos; // System.nanoTime() when the tick finished
+    float elapsedTime;
+    boolean crashed;
+    boolean over; // the crash has played out, time for the game over screen
+
+    int playerCount;
+    final boolean[] alive = new boolean[AlienGame.MAX_PLAYERS];
+    final float[] alienX = new float[AlienGame.MAX_PLAYERS];
+    final float[] alienY = new float[AlienGame.MAX_PLAYERS];
+    final int[] alienState = new int[AlienGame.MAX_PLAYERS];
+    final long[] points = new long[AlienGame.MAX_PLAYERS];
+    long highScore;
+
+    int planetCount;
+    final int[] planetKind = new int[MAX_PLANETS];
+    final float[] planetX = new float[MAX_PLANETS];
+    final float[] planetY = new float[MAX_PLANETS];
+    final float[] planetWidth = new float[MAX_PLANETS];
+    final float[] planetHeight = new float[MAX_PLANETS];
+    final float[] planetDeltaX = new float[MAX_PLANETS];
+
+    final float[] starX;
+    final float[] starY;
+    final float[] starDeltaX;
+
+    int eventCount;
+    final int[] eventType = new int[MAX_EVENTS];
+    final float[] eventX = new float[MAX_EVENTS];
+    final float[] eventY = new float[MAX_EVENTS];
+
+    public WorldSnapshot(int starCount) {
+        starX = new float[starCount];
+        starY = new float[starCount];
+        starDeltaX = new float[starCount];
+    }
+
+    /**
+     * Remember an event, events beyond {@link #MAX_EVENTS} in one tick are
+     * dropped since they are only for show.
+     */
+    void addEvent(int type, float x, float y) {
+        if (eventCount < MAX_EVENTS) {
+            eventType[eventCount] = type;
+            eventX[eventCount] = x;
+            eventY[eventCount] = y;
+            eventCount++;
+        }
+    }
+
+    /**
+     * Add the events of another snapshot to this one.
+     */
+    void appendEvents(WorldSnapshot other) {
+        for (int i = 0; i < other.eventCount; i++) {
+            addEvent(other.eventType[i], other.eventX[i], other.eventY[i]);
+        }
+    }
+
+    /**
+     * Make this snapshot an exact copy of another.
+     */
+    void copyFrom(WorldSnapshot other) {
+        tick = other.tick;
+        nanos = other.nanos;
+        elapsedTime = other.elapsedTime;
+        crashed = other.crashed;
+        over = other.over;
+
+        playerCount = other.playerCount;
+        System.arraycopy(other.alive, 0, alive, 0, playerCount);
+        System.arraycopy(other.alienX, 0, alienX, 0, playerCount);
+        System.arraycopy(other.alienY, 0, alienY, 0, playerCount);
+        System.arraycopy(other.alienState, 0, alienState, 0, playerCount);
+        System.arraycopy(other.points, 0, points, 0, playerCount);
+        highScore = other.highScore;
+
+        planetCount = other.planetCount;
+        System.arraycopy(other.planetKind, 0, planetKind, 0, planetCount);
+        System.arraycopy(other.planetX, 0, planetX, 0, planetCount);
+        System.arraycopy(other.planetY, 0, planetY, 0, planetCount);
+        System.arraycopy(other.planetWidth, 0, planetWidth, 0, planetCount);
+        System.arraycopy(other.planetHeight, 0, planetHeight, 0, planetCount);
+        System.arraycopy(other.planetDeltaX, 0, planetDeltaX, 0, planetCount);
+
+        System.arraycopy(other.starX, 0, starX, 0, starX.length);
+        System.arraycopy(other.starY, 0, starY, 0, starY.length);
+        System.arraycopy(other.starDeltaX, 0, starDeltaX, 0, starDeltaX.length);
+
+        eventCount = other.eventCount;
+        System.arraycopy(other.eventType, 0, eventType, 0, eventCount);
+        System.arraycopy(other.eventX, 0, eventX, 0, eventCount);
+        System.arraycopy(other.eventY, 0, eventY, 0, eventCount);
+    }
+}
@@ -1,17 +1,74 @@
 package se.yrgo.game.desktop;
 
+import java.time.*;
+import java.util.*;
+
+import com.badlogic.gdx.*;
 import com.badlogic.gdx.backends.lwjgl3.*;
 
 import se.yrgo.game.*;
 
 public class DesktopLauncher {
+	// frames to run in each screen during a --cds-training run
+	private static final int TRAINING_FRAMES = 30;
+
 	public static void main(String[] arg) {
+		boolean training = Arrays.asList(arg).contains("--cds-training");
+		boolean benchmark = Arrays.asList(arg).contains("--startup-benchmark");
+		boolean threaded = Arrays.asList(arg).contains("--threaded");
+
 		// this is where we configure how our program starts on the desktop
 		Lwjgl3ApplicationConfiguration config = new Lwjgl3ApplicationConfiguration();
 		config.setWindowedMode(605, 950);
 		config.setTitle("Alien Game - Avoid the Planets!");
 		config.setForegroundFPS(60);
 		config.useVsync(true);
-		new Lwjgl3Application(new AlienGame(), config);
+		LaunchProbe game = new LaunchProbe(training, benchmark);
+		game.setThreadedSimulation(threaded);
+		// leave any saved run and the logs of real sessions alone
+		game.setPersistent(!training && !benchmark);
+		new Lwjgl3Application(game, config);
+	}
+
+	/**
+	 * The game with two extra launch modes. A training run visits every
+	 * screen and exits, so that -XX:ArchiveClassesAtExit records the classes
+	 * a normal session needs. A benchmark run prints the time from process
+	 * start to the first rendered frame and exits.
+	 */
+	private static class LaunchProbe extends AlienGame {
+		private final boolean training;
+		private final boolean benchmark;
+		private int frames;
+
+		LaunchProbe(boolean training, boolean benchmark) {
+			this.training = training;
+			this.benchmark = benchmark;
+		}
+
+		@Override
+		public void render() {
+			super.render();
+			frames++;
+
+			if (benchmark && frames == 1) {
+				Instant start = ProcessHandle.current().info().startInstant().orElse(null);
+				if (start != null) {
+					long millis = Duration.between(start, Instant.now()).toMillis();
+					System.out.println("Startup: first frame after " + millis + " ms");
+				}
+				Gdx.app.exit();
+			}
+
+			if (training) {
+				if (frames == TRAINING_FRAMES) {
+					newGame();
+				} else if (frames == 2 * TRAINING_FRAMES) {
+					gameOver();
+				} else if (frames == 3 * TRAINING_FRAMES) {
+					Gdx.app.exit();
+				}
+			}
+		}
 	}
 }